@@ -0,0 +1,296 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ApiArticleSource
+ * Produces random articles in batches through the MediaWiki API
+ * (generator=random with prop=revisions), so a single request
+ * returns the wikitext of many articles instead of one redirect
+ * and one full skin page per article. Responses are walked with a
+ * {@link JsonStreamReader} as they are downloaded, and the wikitext
+ * is stripped of its markup, templates, tables and references.
+ *
+ * Plain text extracts (prop=extracts) would need no stripping, but
+ * TextExtracts returns a single whole-article extract per request,
+ * every response repeating the titles of the whole batch, so they
+ * cost more than one request per article; with exintro they are
+ * batched but hold only the lead section.
+ *
+ * @since October 2026
+ */
+class ApiArticleSource implements ArticleSource {
+
+	public static final String  API_URL = "https://en.wikipedia.org/w/api.php";
+	public static final int     MAX_BATCH_SIZE = 50;
+	public static final Pattern HEADING_REGEX = Pattern.compile("^(=+)\\s*(.*?)\\s*\\1\\s*$");
+	public static final Pattern COMMENT_REGEX = Pattern.compile("<!--.*?(-->|$)", Pattern.DOTALL);
+	public static final Pattern REF_REGEX = Pattern.compile("<ref[^>/]*/>|<ref[^>]*>.*?</ref\\s*>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+	public static final Pattern EXTERNAL_LINK_REGEX = Pattern.compile("\\[(?:https?:)?//[^\\s\\]]*\\s*([^\\]]*)\\]");
+	public static final Pattern TAG_REGEX = Pattern.compile("</?[a-zA-Z][^>]*>");
+	public static final Pattern ENTITY_REGEX = Pattern.compile("&#?[a-zA-Z0-9]+;");
+	public static final Pattern HIDDEN_LINK_REGEX = Pattern.compile("^(?i)(file|image|category|media):.*", Pattern.DOTALL);
+	public static final int     MAX_CONTINUATIONS = 4;
+
+	private FetchScheduler fetchScheduler;
+	private String apiURL;
+	private int    batchSize;
+	private ArrayDeque<WikipediaPage> pending;
+
+	/**
+	 * Constructor with the {@link FetchScheduler} to fetch through, the
+	 * url of the api endpoint and the number of articles per request.
+	 * @param fetchScheduler The shared {@link FetchScheduler}.
+	 * @param apiURL         The url of the MediaWiki api.php endpoint.
+	 * @param batchSize      The number of articles to request at once.
+	 */
+	public ApiArticleSource(FetchScheduler fetchScheduler, String apiURL, int batchSize) {
+		this.fetchScheduler = fetchScheduler;
+		this.apiURL = apiURL;
+		this.batchSize = Math.max(1, Math.min(MAX_BATCH_SIZE, batchSize));
+		pending = new ArrayDeque<WikipediaPage>(this.batchSize);
+	}
+
+	public WikipediaPage nextPage() {
+		if (pending.isEmpty() && !fetchBatch())
+			return null;
+		return pending.poll();
+	}
+
+	public boolean hasNext() {
+		return true;
+	}
+
+	/**
+	 * Requests a batch of random articles. The content of every page
+	 * normally comes in the first response; only when a batch is over
+	 * the api's result size limit is the rest fetched by following
+	 * rvcontinue, at most {@link #MAX_CONTINUATIONS} times.
+	 * @return true if at least one article was fetched, false otherwise.
+	 */
+	private boolean fetchBatch() {
+		final Map<String, String> contents = new LinkedHashMap<String, String>();
+		String continueParameters = "";
+		for (int i = 0; i <= MAX_CONTINUATIONS; i++) {
+			final Map<String, String> continuation = new LinkedHashMap<String, String>();
+			FetchResult result = fetchScheduler.fetch(getBatchURL(continueParameters), new PageLoader.StreamHandler() {
+				@Override
+				public void handle(InputStream in, String charset) throws IOException {
+					parseResponse(new JsonStreamReader(new InputStreamReader(in, charset)), contents, continuation);
+				}
+			});
+			if (!result.isSuccess() || !continuation.containsKey("rvcontinue"))
+				break;
+			continueParameters = encodeParameters(continuation);
+		}
+		for (Map.Entry<String, String> content : contents.entrySet())
+			pending.add(parseExtract(content.getKey(), stripWikitext(content.getValue())));
+		return !pending.isEmpty();
+	}
+
+	/**
+	 * Builds the url of a batch request.
+	 * @param  continueParameters Encoded continuation parameters, or "".
+	 * @return                    The url of the request.
+	 */
+	private String getBatchURL(String continueParameters) {
+		return apiURL + "?action=query&format=json&formatversion=2&generator=random&grnnamespace=0"
+			+ "&grnlimit=" + batchSize + "&prop=revisions&rvprop=content&rvslots=main"
+			+ continueParameters;
+	}
+
+	/**
+	 * Walks an api response, collecting the content of every page,
+	 * its wikitext for prop=revisions or its extract for prop=extracts,
+	 * and the continuation parameters.
+	 * @param reader       A {@link JsonStreamReader} over the response.
+	 * @param contents     A map from title to content to add pages to.
+	 * @param continuation A map to add the continuation parameters to.
+	 * @throws IOException if the response is not valid json.
+	 */
+	static void parseResponse(JsonStreamReader reader, Map<String, String> contents, Map<String, String> continuation) throws IOException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			if (name.equals("continue")) {
+				reader.beginObject();
+				while (reader.hasNext())
+					continuation.put(reader.nextName(), reader.nextString());
+				reader.endObject();
+			}	else if (name.equals("query")) {
+				reader.beginObject();
+				while (reader.hasNext()) {
+					if (reader.nextName().equals("pages"))
+						parsePages(reader, contents);
+					else reader.skipValue();
+				}
+				reader.endObject();
+			}	else reader.skipValue();
+		}
+		reader.endObject();
+	}
+
+	private static void parsePages(JsonStreamReader reader, Map<String, String> contents) throws IOException {
+		reader.beginArray();
+		while (reader.hasNext()) {
+			String title = null, content = null;
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String name = reader.nextName();
+				if (name.equals("title"))
+					title = reader.nextString();
+				else if (name.equals("extract"))
+					content = reader.nextString();
+				else if (name.equals("revisions"))
+					content = parseRevisions(reader);
+				else reader.skipValue();
+			}
+			reader.endObject();
+			if (title != null && content != null && !content.isEmpty() && !contents.containsKey(title))
+				contents.put(title, content);
+		}
+		reader.endArray();
+	}
+
+	/**
+	 * Reads the content of the main slot of the first revision, from
+	 * "revisions":[{"slots":{"main":{"content":...}}}].
+	 */
+	private static String parseRevisions(JsonStreamReader reader) throws IOException {
+		String content = null;
+		reader.beginArray();
+		while (reader.hasNext()) {
+			reader.beginObject();
+			while (reader.hasNext()) {
+				if (!reader.nextName().equals("slots") || content != null) {
+					reader.skipValue();
+					continue;
+				}
+				reader.beginObject();
+				while (reader.hasNext()) {
+					if (!reader.nextName().equals("main")) {
+						reader.skipValue();
+						continue;
+					}
+					reader.beginObject();
+					while (reader.hasNext()) {
+						if (reader.nextName().equals("content"))
+							content = reader.nextString();
+						else reader.skipValue();
+					}
+					reader.endObject();
+				}
+				reader.endObject();
+			}
+			reader.endObject();
+		}
+		reader.endArray();
+		return content;
+	}
+
+	/**
+	 * Turns wikitext into the plain text of the page, keeping the
+	 * "== Heading ==" lines: comments, references, templates, tables,
+	 * files and categories are dropped, links are replaced by their
+	 * labels, and quote markup, html tags and entities are removed.
+	 * Templates are not expanded, so the text of infoboxes and the
+	 * like is missing.
+	 * @param  wikitext The wikitext of a page.
+	 * @return          The plain text of the page.
+	 */
+	static String stripWikitext(String wikitext) {
+		String text = COMMENT_REGEX.matcher(wikitext).replaceAll("");
+		text = REF_REGEX.matcher(text).replaceAll("");
+		text = removeNested(text, "{{", "}}");
+		text = removeNested(text, "{|", "|}");
+		text = replaceLinks(text);
+		text = EXTERNAL_LINK_REGEX.matcher(text).replaceAll("$1");
+		text = TAG_REGEX.matcher(text).replaceAll("");
+		text = text.replace("'''", "").replace("''", "").replace("&amp;", "&");
+		return ENTITY_REGEX.matcher(text).replaceAll(" ");
+	}
+
+	/**
+	 * Removes every span from open to its matching close, counting
+	 * nested spans; an unclosed span runs to the end of the text.
+	 */
+	private static String removeNested(String text, String open, String close) {
+		StringBuilder kept = new StringBuilder(text.length());
+		int depth = 0;
+		for (int i = 0; i < text.length(); i++) {
+			if (text.startsWith(open, i)) {
+				depth++;
+				i += open.length() - 1;
+			}	else if (depth > 0 && text.startsWith(close, i)) {
+				depth--;
+				i += close.length() - 1;
+			}	else if (depth == 0)
+				kept.append(text.charAt(i));
+		}
+		return kept.toString();
+	}
+
+	/**
+	 * Replaces [[target|label]] and [[target]] links by their label or
+	 * target, dropping files, images and categories along with any
+	 * links nested in their captions.
+	 */
+	private static String replaceLinks(String text) {
+		StringBuilder replaced = new StringBuilder(text.length());
+		int start = 0;
+		for (int open = text.indexOf("[[", start); open >= 0; open = text.indexOf("[[", start)) {
+			replaced.append(text, start, open);
+			int depth = 0, end = open;
+			for (; end < text.length(); end++) {
+				if (text.startsWith("[[", end)) {
+					depth++;
+					end++;
+				}	else if (text.startsWith("]]", end) && --depth == 0)
+					break;
+			}
+			String link = text.substring(open + 2, Math.min(end, text.length()));
+			if (!HIDDEN_LINK_REGEX.matcher(link).matches())
+				replaced.append(link.substring(link.lastIndexOf('|') + 1));
+			start = Math.min(end + 2, text.length());
+		}
+		return replaced.append(text, start, text.length()).toString();
+	}
+
+	/**
+	 * Splits a plain text extract into its section headings
+	 * ("== Heading ==" lines) and its text.
+	 * @param  title   The title of the article.
+	 * @param  extract The plain text extract of the article.
+	 * @return         A {@link WikipediaPage} for the article.
+	 */
+	static WikipediaPage parseExtract(String title, String extract) {
+		ArrayList<String> headings = new ArrayList<String>();
+		StringBuilder text = new StringBuilder(extract.length());
+		for (String line : extract.split("\n")) {
+			Matcher m = HEADING_REGEX.matcher(line);
+			if (m.matches())
+				headings.add(m.group(2));
+			else if (!line.trim().isEmpty())
+				text.append(line).append(' ');
+		}
+		return new WikipediaPage(title, headings.toArray(new String[headings.size()]), text.toString().trim());
+	}
+
+	private static String encodeParameters(Map<String, String> parameters) {
+		StringBuilder encoded = new StringBuilder();
+		try {
+			for (Map.Entry<String, String> parameter : parameters.entrySet())
+				encoded.append('&').append(URLEncoder.encode(parameter.getKey(), "UTF-8"))
+					.append('=').append(URLEncoder.encode(parameter.getValue(), "UTF-8"));
+		}	catch (UnsupportedEncodingException e) {}
+		return encoded.toString();
+	}
+}
@@ -0,0 +1,23 @@
+/**
+ * ArticleSource
+ * Where a {@link WikipediaWordsThread} gets its articles from.
+ * Implementations fetch through the runner's {@link FetchScheduler}
+ * so they share its rate limit and throttling state.
+ *
+ * @since October 2026
+ */
+interface ArticleSource {
+
+	/**
+	 * Gets the next article of this source.
+	 * @return the next {@link WikipediaPage}, which may be invalid,
+	 *         or null if it could not be fetched.
+	 */
+	WikipediaPage nextPage();
+
+	/**
+	 * Returns whether this source can produce more articles.
+	 * @return false once the source is exhausted, true otherwise.
+	 */
+	boolean hasNext();
+}
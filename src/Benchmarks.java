@@ -0,0 +1,377 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+/**
+ * Benchmarks
+ * Micro benchmarks of the CPU bound parts of the program, run on
+ * a single thread so their rates are per core. Every benchmark first
+ * checks the fast path it times against the plain one, and fails
+ * instead of timing if they disagree.
+ *
+ * @since October 2026
+ */
+class Benchmarks {
+
+	public static final String TOKENIZER   = "tokenizer";
+	public static final String BLOCK_CACHE = "blockcache";
+	public static final String HOT_WORDS   = "hotwords";
+	public static final String[] NAMES = {TOKENIZER, BLOCK_CACHE, HOT_WORDS};
+
+	private static final int CORPUS_ARTICLES = 500;
+	private static final int FUZZ_ROUNDS = 20000;
+	private static final int BLOCK_CACHE_CAPACITY = 4096;
+	private static final int CORPUS_HOT_WORDS = 4096;
+	private static final String[] EDGE_CASES = {
+		"<p>1990 was the year</p><p>Of the flood</p>",
+		"<p></p><p>(see below) first</p><ul><li>x</li></ul>",
+		"<p>123</p><ul><li>4, 5</li></ul>",
+		"",
+		"<ul><li><p>Nested words</p></li></ul><p>Nested words</p><p>1990 was the year</p>"
+	};
+
+	/**
+	 * Runs a benchmark by name.
+	 * @param  name    One of {@link #NAMES}.
+	 * @param  seconds How long to time each variant for.
+	 * @return         false if the name is unknown or a check failed.
+	 * @throws IOException if the benchmark corpus cannot be made.
+	 */
+	public static boolean run(String name, double seconds) throws IOException {
+		if (name.equals(TOKENIZER))
+			return benchmarkTokenizer(seconds);
+		if (name.equals(BLOCK_CACHE))
+			return benchmarkBlockCache(seconds);
+		if (name.equals(HOT_WORDS))
+			return benchmarkHotWords(seconds);
+		System.err.printf("Unknown benchmark %s, expected one of %s!!!\n", name, Arrays.toString(NAMES));
+		return false;
+	}
+
+	/**
+	 * Compares the scalar and SIMD {@link TokenizerKernel}s on random
+	 * bytes and on {@link MockWikipediaServer} articles, then times
+	 * both the kernels alone and {@link ByteArticleParser} using them.
+	 */
+	private static boolean benchmarkTokenizer(double seconds) throws IOException {
+		TokenizerKernel scalar = new TokenizerKernel();
+		TokenizerKernel vector = TokenizerKernel.create(true);
+		boolean vectorized = vector.getClass() != TokenizerKernel.class;
+		if (!vectorized)
+			System.out.println("Vector API unavailable (run with --add-modules jdk.incubator.vector), timing scalar only");
+
+		byte[][] corpus = createCorpus();
+		long corpusBytes = 0;
+		for (byte[] article : corpus)
+			corpusBytes += article.length;
+		System.out.printf("Corpus: %d articles, %d bytes\n", corpus.length, corpusBytes);
+
+		TokenizerKernel[] kernels = vectorized ? new TokenizerKernel[] {scalar, vector} : new TokenizerKernel[] {scalar};
+		if (vectorized && !checkKernels(scalar, vector))
+			return false;
+		if (!checkParsers(kernels, corpus))
+			return false;
+
+		for (TokenizerKernel kernel : kernels) {
+			timeClassify(kernel, corpus, corpusBytes, seconds / 2);
+			timeParse(kernel, corpus, corpusBytes, seconds / 2);
+			double classifyRate = timeClassify(kernel, corpus, corpusBytes, seconds);
+			double parseRate = timeParse(kernel, corpus, corpusBytes, seconds);
+			System.out.printf("%-12s classify %8.1f MB/s   parse %8.1f MB/s\n", kernel.getName(), classifyRate / 1e6, parseRate / 1e6);
+		}
+		return true;
+	}
+
+	/**
+	 * Compares splitting pages into words with and without a
+	 * {@link BlockCache} on {@link MockWikipediaServer} articles and on
+	 * edge cases, then times both on already parsed documents. Every
+	 * timed pass starts with an empty cache, so only blocks repeated
+	 * across the corpus hit.
+	 */
+	private static boolean benchmarkBlockCache(double seconds) throws IOException {
+		byte[][] corpus = createCorpus();
+		Document[] documents = new Document[corpus.length + EDGE_CASES.length];
+		long corpusBytes = 0;
+		for (int i = 0; i < corpus.length; i++) {
+			documents[i] = Jsoup.parse(new String(corpus[i], StandardCharsets.UTF_8));
+			corpusBytes += corpus[i].length;
+		}
+		for (int i = 0; i < EDGE_CASES.length; i++)
+			documents[corpus.length + i] = Jsoup.parse("<div id=\"content\"><h1 id=\"firstHeading\">Edge case</h1><div id=\"mw-content-text\">" + EDGE_CASES[i] + "</div></div>");
+		System.out.printf("Corpus: %d articles, %d bytes, and %d edge cases\n", corpus.length, corpusBytes, EDGE_CASES.length);
+
+		BlockCache blockCache = new BlockCache(BLOCK_CACHE_CAPACITY);
+		for (int pass = 0; pass < 2; pass++)
+			for (int i = 0; i < documents.length; i++) {
+				WikipediaPage expected = new WikipediaPage(documents[i]);
+				WikipediaPage actual = new WikipediaPage(documents[i], blockCache);
+				if (!samePage(expected, actual) || expected.isValid() && !Arrays.equals(expected.getWords(), actual.getWords())) {
+					System.err.printf("block cache mismatch on document %d in pass %d!!!\n", i, pass);
+					return false;
+				}
+			}
+		System.out.printf("block cache matches on %d documents, cold and warm\n", documents.length);
+
+		for (int cached = 0; cached < 2; cached++) {
+			timeWords(documents, cached == 1, seconds / 2);
+			double rate = timeWords(documents, cached == 1, seconds);
+			System.out.printf("%-12s %8.1f articles/s\n", cached == 1 ? "cached" : "uncached", rate);
+		}
+		blockCache = new BlockCache(BLOCK_CACHE_CAPACITY);
+		for (Document document : documents)
+			new WikipediaPage(document, blockCache);
+		System.out.printf("One pass hits %.1f%% of %d blocks, a net saving of about %.1f ms\n", blockCache.getHitRate() * 100, blockCache.getLookups(), blockCache.getSavedSeconds() * 1000);
+		return true;
+	}
+
+	/**
+	 * Compares counting the words of {@link MockWikipediaServer}
+	 * articles into a {@link WordList} alone and with a
+	 * {@link HotWordCounter} in front of it, with the built-in hot words
+	 * and with the most common words of the corpus, then times each.
+	 */
+	private static boolean benchmarkHotWords(double seconds) throws IOException {
+		byte[][] corpus = createCorpus();
+		String[][] articles = new String[corpus.length][];
+		long tokens = 0;
+		for (int i = 0; i < corpus.length; i++) {
+			articles[i] = new WikipediaPage(Jsoup.parse(new String(corpus[i], StandardCharsets.UTF_8))).getWordsLowercase();
+			tokens += articles[i].length;
+		}
+		WordList expected = countWords(articles, null);
+		WordList topWords = new WordList(expected.size());
+		topWords.addAll(expected);
+		topWords.sortOccurences();
+		String[] corpusHotWords = new String[Math.min(CORPUS_HOT_WORDS, topWords.size())];
+		for (int i = 0; i < corpusHotWords.length; i++)
+			corpusHotWords[i] = topWords.get(i).getWord();
+		System.out.printf("Corpus: %d articles, %d words, %d distinct\n", articles.length, tokens, expected.size());
+
+		String[] names = {"general", "built-in", "corpus-top"};
+		HotWordTable[] tables = {null, new HotWordTable(HotWordTable.BUILT_IN), new HotWordTable(corpusHotWords)};
+		for (int i = 1; i < tables.length; i++) {
+			HotWordCounter hotWords = new HotWordCounter(tables[i]);
+			if (!sameCounts(expected, countWords(articles, hotWords))) {
+				System.err.printf("%s hot words count mismatch!!!\n", names[i]);
+				return false;
+			}
+			System.out.printf("%s hot words (%d) match the general count, %.1f%% of words hot\n", names[i], tables[i].size(), 100.0 * hotWords.getHotTokens() / hotWords.getTokens());
+		}
+
+		for (int i = 0; i < tables.length; i++) {
+			timeCount(articles, tokens, tables[i], seconds / 2);
+			double rate = timeCount(articles, tokens, tables[i], seconds);
+			System.out.printf("%-12s %8.2f M words/s\n", names[i], rate / 1e6);
+		}
+		return true;
+	}
+
+	/**
+	 * Counts every article into a new list, as a thread does.
+	 */
+	private static WordList countWords(String[][] articles, HotWordCounter hotWords) {
+		WordList wordsList = new WordList();
+		for (String[] article : articles) {
+			String[] words = article.clone();
+			wordsList.addWords(hotWords != null ? hotWords.count(words) : words);
+		}
+		if (hotWords != null)
+			hotWords.foldInto(wordsList);
+		return wordsList;
+	}
+
+	private static boolean sameCounts(WordList a, WordList b) {
+		if (a.size() != b.size())
+			return false;
+		for (int i = 0; i < a.size(); i++)
+			if (!a.get(i).getWord().equals(b.get(i).getWord()) || a.get(i).getOccurrences() != b.get(i).getOccurrences())
+				return false;
+		return true;
+	}
+
+	/**
+	 * Times counting the whole corpus into a new list.
+	 * @return the words counted per second.
+	 */
+	private static double timeCount(String[][] articles, long tokens, HotWordTable table, double seconds) {
+		long sink = 0, passes = 0;
+		long start = System.nanoTime(), stop = start + (long) (seconds * 1e9);
+		do {
+			sink += countWords(articles, table != null ? new HotWordCounter(table) : null).size();
+			passes++;
+		}	while (System.nanoTime() < stop);
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		if (sink == 42)
+			System.out.print("");
+		return passes * tokens / elapsed;
+	}
+
+	/**
+	 * Times splitting already parsed documents into pages.
+	 * @return the documents split per second.
+	 */
+	private static double timeWords(Document[] documents, boolean cached, double seconds) {
+		long sink = 0, passes = 0;
+		long start = System.nanoTime(), stop = start + (long) (seconds * 1e9);
+		do {
+			BlockCache blockCache = cached ? new BlockCache(BLOCK_CACHE_CAPACITY) : null;
+			for (Document document : documents)
+				sink += new WikipediaPage(document, blockCache).getTitle().length();
+			passes++;
+		}	while (System.nanoTime() < stop);
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		if (sink == 42)
+			System.out.print("");
+		return passes * documents.length / elapsed;
+	}
+
+	/**
+	 * Renders mock articles as UTF-8, some with letters swapped for
+	 * non-ASCII bytes and punctuation so that words are cut in odd
+	 * places. (Stray markup is left out, jsoup recovers from it in
+	 * ways the byte parser does not try to copy.)
+	 */
+	private static byte[][] createCorpus() throws IOException {
+		MockWikipediaServer server = new MockWikipediaServer(0, 0, 0, 0, 50000, 1.0);
+		Random random = new Random(42);
+		byte[][] corpus = new byte[CORPUS_ARTICLES][];
+		for (int i = 0; i < corpus.length; i++) {
+			corpus[i] = server.renderArticle(server.getTitle(i)).getBytes(StandardCharsets.UTF_8);
+			if (i % 2 == 1)
+				mangleText(corpus[i], random);
+		}
+		server.stop();
+		return corpus;
+	}
+
+	/**
+	 * Swaps about one in a hundred letters outside of tags and entities.
+	 */
+	private static void mangleText(byte[] html, Random random) {
+		boolean inMarkup = false;
+		for (int i = 0; i < html.length; i++) {
+			if (html[i] == '<' || html[i] == '&')
+				inMarkup = true;
+			else if (html[i] == '>' || html[i] == ';')
+				inMarkup = false;
+			else if (!inMarkup && ByteArticleParser.isLetter(html[i]) && random.nextInt(100) == 0)
+				html[i] = random.nextBoolean() ? (byte) (0x80 + random.nextInt(128)) : (byte) " ;@[`{\n".charAt(random.nextInt(7));
+		}
+	}
+
+	/**
+	 * Checks the SIMD kernel gives the same masks, lowercased bytes
+	 * and markup positions as the scalar one on random blocks of every
+	 * length and alignment.
+	 */
+	private static boolean checkKernels(TokenizerKernel scalar, TokenizerKernel vector) {
+		Random random = new Random(7);
+		byte[] buf = new byte[3 * TokenizerKernel.BLOCK_SIZE];
+		byte[] scalarFolded = new byte[TokenizerKernel.BLOCK_SIZE];
+		byte[] vectorFolded = new byte[TokenizerKernel.BLOCK_SIZE];
+		for (int round = 0; round < FUZZ_ROUNDS; round++) {
+			for (int i = 0; i < buf.length; i++)
+				buf[i] = randomByte(random);
+			int offset = random.nextInt(TokenizerKernel.BLOCK_SIZE);
+			int length = random.nextInt(TokenizerKernel.BLOCK_SIZE + 1);
+			long expected = scalar.classify(buf, offset, length, scalarFolded, 0);
+			long actual = vector.classify(buf, offset, length, vectorFolded, 0);
+			if (expected != actual || !Arrays.equals(scalarFolded, 0, length, vectorFolded, 0, length)) {
+				System.err.printf("classify mismatch at offset %d length %d: %x != %x!!!\n", offset, length, expected, actual);
+				return false;
+			}
+			int to = offset + random.nextInt(buf.length - offset + 1);
+			if (scalar.findMarkup(buf, offset, to) != vector.findMarkup(buf, offset, to)) {
+				System.err.printf("findMarkup mismatch between %d and %d!!!\n", offset, to);
+				return false;
+			}
+		}
+		System.out.printf("%s matches scalar on %d random blocks\n", vector.getName(), FUZZ_ROUNDS);
+		return true;
+	}
+
+	/**
+	 * Checks that parsing the corpus from bytes with every kernel gives
+	 * the same pages as parsing it through jsoup.
+	 */
+	private static boolean checkParsers(TokenizerKernel[] kernels, byte[][] corpus) {
+		for (TokenizerKernel kernel : kernels) {
+			ByteArticleParser parser = new ByteArticleParser(new ByteWordTable(), kernel);
+			for (int i = 0; i < corpus.length; i++) {
+				WikipediaPage expected = new WikipediaPage(Jsoup.parse(new String(corpus[i], StandardCharsets.UTF_8)));
+				if (!samePage(expected, parser.parse(ByteBuffer.wrap(corpus[i])))) {
+					System.err.printf("%s parse mismatch on article %d!!!\n", kernel.getName(), i);
+					return false;
+				}
+			}
+			System.out.printf("%s matches jsoup on %d articles\n", kernel.getName(), corpus.length);
+		}
+		return true;
+	}
+
+	private static boolean samePage(WikipediaPage a, WikipediaPage b) {
+		return a.isValid() == b.isValid()
+			&& (!a.isValid() || (a.getTitle().equals(b.getTitle())
+				&& Arrays.equals(a.getHeadings(), b.getHeadings())
+				&& Arrays.equals(a.getWordsLowercase(), b.getWordsLowercase())));
+	}
+
+	/**
+	 * Returns a byte that is a letter half of the time and otherwise
+	 * whitespace, punctuation, markup or part of a UTF-8 sequence.
+	 */
+	private static byte randomByte(Random random) {
+		switch (random.nextInt(8)) {
+			case 0: return (byte) ' ';
+			case 1: return (byte) "<&;@[`{\n".charAt(random.nextInt(8));
+			case 2: return (byte) (0x80 + random.nextInt(128));
+			case 3: return (byte) random.nextInt(128);
+			default: return (byte) ((random.nextBoolean() ? 'a' : 'A') + random.nextInt(26));
+		}
+	}
+
+	/**
+	 * Times classifying the whole corpus a block at a time.
+	 * @return the bytes classified per second.
+	 */
+	private static double timeClassify(TokenizerKernel kernel, byte[][] corpus, long corpusBytes, double seconds) {
+		byte[] folded = new byte[TokenizerKernel.BLOCK_SIZE];
+		long sink = 0, passes = 0;
+		long start = System.nanoTime(), stop = start + (long) (seconds * 1e9);
+		do {
+			for (byte[] article : corpus)
+				for (int block = 0; block < article.length; block += TokenizerKernel.BLOCK_SIZE)
+					sink += kernel.classify(article, block, Math.min(TokenizerKernel.BLOCK_SIZE, article.length - block), folded, 0);
+			passes++;
+		}	while (System.nanoTime() < stop);
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		if (sink == 42)
+			System.out.print("");
+		return passes * corpusBytes / elapsed;
+	}
+
+	/**
+	 * Times parsing the whole corpus with a {@link ByteArticleParser}.
+	 * @return the bytes parsed per second.
+	 */
+	private static double timeParse(TokenizerKernel kernel, byte[][] corpus, long corpusBytes, double seconds) {
+		ByteArticleParser parser = new ByteArticleParser(new ByteWordTable(), kernel);
+		long sink = 0, passes = 0;
+		long start = System.nanoTime(), stop = start + (long) (seconds * 1e9);
+		do {
+			for (byte[] article : corpus)
+				sink += parser.parse(ByteBuffer.wrap(article)).getWordsLowercase().length;
+			passes++;
+		}	while (System.nanoTime() < stop);
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		if (sink == 42)
+			System.out.print("");
+		return passes * corpusBytes / elapsed;
+	}
+}
@@ -0,0 +1,211 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BlockCache
+ * A bounded LRU cache of the words of text blocks (the p and ul
+ * elements of an article), so boilerplate repeated across articles,
+ * such as stub notices and "See also" lists, is split into words
+ * once. Blocks are keyed by a 64-bit hash of the ends of their text
+ * and the whole text is compared on a hit, so a collision costs a
+ * miss and never a wrong word. Blocks shorter than {@link #MIN_CHARS}
+ * are not worth the lookup and skip the cache.
+ *
+ * Most blocks are paragraphs seen only once, so a block's words are
+ * only kept the second time its hash is seen. The first time the
+ * hash is just written to a fixed table of recent hashes, without
+ * locking, and the block is split together with its neighbours as
+ * if there were no cache. Unique paragraphs then neither push
+ * repeated boilerplate out nor fill the heap with their words, and
+ * cost little more than hashing the ends of their text.
+ *
+ * Shared by all threads and striped into separately locked LRU
+ * maps by hash, so threads rarely wait on each other.
+ *
+ * @since October 2026
+ */
+class BlockCache {
+
+	public static final int MIN_CHARS  = 40;
+	public static final int HASH_CHARS = 32;
+
+	/** Returned by {@link #get} for a block seen before but not cached. */
+	public static final Block SEEN = new Block(null, null, null);
+
+	private static final int STRIPES = 16;
+
+	/**
+	 * The words of a cached block.
+	 */
+	static class Block {
+
+		private String   text;
+		private String[] words;
+		private String[] wordsLowercase;
+
+		Block(String text, String[] words, String[] wordsLowercase) {
+			this.text = text;
+			this.words = words;
+			this.wordsLowercase = wordsLowercase;
+		}
+
+		public String[] getWords() {
+			return words;
+		}
+
+		public String[] getWordsLowercase() {
+			return wordsLowercase;
+		}
+	}
+
+	private LinkedHashMap<Long, Block>[] stripes;
+	private long[] seen;
+	private LongAdder hits, misses;
+	private LongAdder hitChars, splitChars, splitNanos, overheadNanos;
+
+	/**
+	 * Constructor with the most blocks to keep.
+	 * @param capacity The number of blocks kept, least recently used
+	 *                 blocks are dropped first. Four times as many
+	 *                 hashes of blocks seen once are remembered.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public BlockCache(int capacity) {
+		final int stripeCapacity = Math.max(1, capacity / STRIPES);
+		stripes = new LinkedHashMap[STRIPES];
+		for (int i = 0; i < stripes.length; i++)
+			stripes[i] = new LinkedHashMap<Long, Block>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, Block> eldest) {
+					return size() > stripeCapacity;
+				}
+			};
+		seen = new long[Integer.highestOneBit(Math.max(1, capacity) * 4 - 1) << 1];
+		hits = new LongAdder();
+		misses = new LongAdder();
+		hitChars = new LongAdder();
+		splitChars = new LongAdder();
+		splitNanos = new LongAdder();
+		overheadNanos = new LongAdder();
+	}
+
+	/**
+	 * Looks up the words of a block, remembering its hash if it was
+	 * not seen recently. The table of hashes is read and written
+	 * without locking; a lost or torn write at worst makes a block
+	 * count as seen once more or once less.
+	 * @param  text The text of the block.
+	 * @param  hash The {@link #hash} of the text.
+	 * @return      The cached block on a hit, {@link #SEEN} if the block
+	 *              was seen before and should be split and {@link #put},
+	 *              or null the first time it is seen.
+	 */
+	public Block get(String text, long hash) {
+		int slot = (int) hash & (seen.length - 1);
+		if (seen[slot] != hash) {
+			seen[slot] = hash;
+			misses.increment();
+			return null;
+		}
+		LinkedHashMap<Long, Block> stripe = getStripe(hash);
+		Block block;
+		synchronized (stripe) {
+			block = stripe.get(hash);
+		}
+		if (block == null || !block.text.equals(text)) {
+			misses.increment();
+			return SEEN;
+		}
+		hits.increment();
+		hitChars.add(text.length());
+		return block;
+	}
+
+	/**
+	 * Caches the words of a block seen before.
+	 * @param  text           The text of the block.
+	 * @param  hash           The {@link #hash} of the text.
+	 * @param  words          The words of the block.
+	 * @param  wordsLowercase The lowercase words of the block.
+	 * @return                The cached block.
+	 */
+	public Block put(String text, long hash, String[] words, String[] wordsLowercase) {
+		Block block = new Block(text, words, wordsLowercase);
+		LinkedHashMap<Long, Block> stripe = getStripe(hash);
+		synchronized (stripe) {
+			stripe.put(hash, block);
+		}
+		return block;
+	}
+
+	/**
+	 * Records the time it took to split text into words, to estimate
+	 * the time hits save.
+	 * @param chars The number of characters split.
+	 * @param nanos The time it took.
+	 */
+	public void addSplitTime(long chars, long nanos) {
+		splitChars.add(chars);
+		splitNanos.add(nanos);
+	}
+
+	/**
+	 * Records time spent on the cache itself, hashing, looking up
+	 * and caching blocks.
+	 * @param nanos The time it took.
+	 */
+	public void addOverheadTime(long nanos) {
+		overheadNanos.add(nanos);
+	}
+
+	/**
+	 * Returns the fraction of lookups that were hits.
+	 * @return the hit rate, between 0 and 1.
+	 */
+	public double getHitRate() {
+		long lookups = getLookups();
+		return lookups == 0 ? 0 : (double) hits.sum() / lookups;
+	}
+
+	/**
+	 * Returns the number of lookups.
+	 * @return the number of hits and misses.
+	 */
+	public long getLookups() {
+		return hits.sum() + misses.sum();
+	}
+
+	/**
+	 * Estimates the time the cache saved overall: the time hits saved,
+	 * from the time it took to split a character of text, less the
+	 * time spent on the cache itself. Negative if it cost time.
+	 * @return the estimated CPU seconds saved.
+	 */
+	public double getSavedSeconds() {
+		double saved = splitChars.sum() == 0 ? 0 : hitChars.sum() * ((double) splitNanos.sum() / splitChars.sum());
+		return (saved - overheadNanos.sum()) / 1E9;
+	}
+
+	/**
+	 * Hashes the text of a block from its length and at most its
+	 * first and last {@link #HASH_CHARS} characters, so long paragraphs
+	 * are not read in full just to be looked up. Texts that only differ
+	 * in the middle collide, which {@link #get} tells apart.
+	 * @param  text The text of the block.
+	 * @return      The hash of the text.
+	 */
+	public static long hash(String text) {
+		int length = text.length();
+		long hash = 0xcbf29ce484222325L ^ length;
+		for (int i = 0, end = Math.min(length, HASH_CHARS); i < end; i++)
+			hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+		for (int i = Math.max(HASH_CHARS, length - HASH_CHARS); i < length; i++)
+			hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+		return hash ^ (hash >>> 29);
+	}
+
+	private LinkedHashMap<Long, Block> getStripe(long hash) {
+		return stripes[(int) (hash >>> 60) & (STRIPES - 1)];
+	}
+}
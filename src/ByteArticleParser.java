@@ -0,0 +1,600 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.jsoup.parser.Parser;
+
+/**
+ * ByteArticleParser
+ * Parses a Wikipedia article straight from the bytes of the
+ * response body, without decoding it to characters or building
+ * a {@link org.jsoup.nodes.Document}. Words are ASCII letters
+ * only, so in UTF-8 (or any ASCII compatible charset) every
+ * non-ASCII byte is a separator and words can be cut, lowercased
+ * and hashed from the bytes directly. Strings are only made for
+ * words the thread's {@link ByteWordTable} has not seen before.
+ *
+ * The words produced match {@link WikipediaPage}'s jsoup path for
+ * MediaWiki markup: text of {@code p} and {@code ul} elements inside
+ * {@code #mw-content-text}, with inline tags joining and block tags
+ * splitting words, and text of nested lists counted once per list
+ * as jsoup's selection does. (jsoup would glue a word ending a nested
+ * list to one right after it; MediaWiki always puts a newline there.)
+ * The title and headings are small and are still decoded to Strings.
+ *
+ * The scanning of text runs is left to a {@link TokenizerKernel},
+ * which may use SIMD instructions.
+ *
+ * @since October 2026
+ */
+class ByteArticleParser {
+
+	private static final long TAG_P      = tagKey("p");
+	private static final long TAG_UL     = tagKey("ul");
+	private static final long TAG_BR     = tagKey("br");
+	private static final long TAG_SCRIPT = tagKey("script");
+	private static final long TAG_STYLE  = tagKey("style");
+	private static final long[] BLOCK_TAGS = tagKeys(
+		"html", "head", "body", "frameset", "script", "noscript", "style", "meta", "link", "title", "frame",
+		"noframes", "section", "nav", "aside", "hgroup", "header", "footer", "p", "h1", "h2", "h3", "h4",
+		"h5", "h6", "ul", "ol", "pre", "div", "blockquote", "hr", "address", "figure", "figcaption", "form",
+		"fieldset", "ins", "del", "dl", "dt", "dd", "li", "table", "caption", "thead", "tfoot", "tbody",
+		"colgroup", "col", "tr", "th", "td", "video", "audio", "canvas", "details", "menu", "plaintext",
+		"template", "article", "main", "svg", "math");
+	private static final long[] VOID_TAGS = tagKeys(
+		"area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "param", "source",
+		"track", "wbr");
+
+	private static final byte[] ID_CONTENT       = ascii("content");
+	private static final byte[] ID_CONTENT_TEXT  = ascii("mw-content-text");
+	private static final byte[] ID_FIRST_HEADING = ascii("firstHeading");
+	private static final byte[] CLASS_HEADLINE   = ascii("mw-headline");
+	private static final byte[] ATTRIBUTE_CLASS  = ascii("class");
+	private static final byte[] TAG_END          = ascii(">");
+	private static final byte[] COMMENT_END      = ascii("-->");
+	private static final byte[] SCRIPT_END       = ascii("</script");
+	private static final byte[] STYLE_END        = ascii("</style");
+
+	private static final int FIRST_NONE   = 0;
+	private static final int FIRST_LETTER = 1;
+	private static final int FIRST_OTHER  = 2;
+
+	private ByteWordTable  wordTable;
+	private TokenizerKernel kernel;
+	private byte[]   buf;
+	private byte[]   folded;
+
+	private String[] tokens;
+	private int      numTokens;
+	private byte[]   token;
+	private int      tokenLength, tokenHash;
+	private int      selectedDepth;
+	private int      firstChar;
+
+	private boolean  sawContent;
+	private long     contentTag;
+	private int      contentDepth;
+
+	private byte[]   capture;
+	private int      captureLength;
+	private long     captureTag;
+	private int      captureDepth;
+	private boolean  captureTitle;
+	private String   title;
+	private ArrayList<String> headings;
+
+	private int      idFrom, idTo, classFrom, classTo;
+	private boolean  selfClosing;
+
+	/**
+	 * Constructor with the {@link ByteWordTable} canonicalizing words.
+	 * @param wordTable The table of words seen so far.
+	 */
+	public ByteArticleParser(ByteWordTable wordTable) {
+		this(wordTable, new TokenizerKernel());
+	}
+
+	/**
+	 * Constructor with the {@link ByteWordTable} canonicalizing words
+	 * and the {@link TokenizerKernel} scanning text.
+	 * @param wordTable The table of words seen so far.
+	 * @param kernel    The kernel to scan text with.
+	 */
+	public ByteArticleParser(ByteWordTable wordTable, TokenizerKernel kernel) {
+		this.wordTable = wordTable;
+		this.kernel = kernel;
+		folded = new byte[TokenizerKernel.BLOCK_SIZE];
+		tokens = new String[1024];
+		token = new byte[64];
+		capture = new byte[256];
+		headings = new ArrayList<String>();
+	}
+
+	/**
+	 * Returns whether a charset encodes ASCII the same as ASCII,
+	 * which is what parsing from bytes relies on.
+	 * @param  charset The name of the charset.
+	 * @return         true if bytes of the charset can be parsed directly.
+	 */
+	public static boolean isAsciiCompatible(String charset) {
+		try {
+			return Arrays.equals(ascii("<a&;=\"'/>"), "<a&;=\"'/>".getBytes(Charset.forName(charset)));
+		}	catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Parses the body of a Wikipedia article page.
+	 * @param  body The bytes of the page in an ASCII compatible charset.
+	 * @return      A {@link WikipediaPage} for the article, invalid if
+	 *              it is missing its content or title.
+	 */
+	public WikipediaPage parse(ByteBuffer body) {
+		ParseEvent event = new ParseEvent();
+		event.begin();
+		int pos, end;
+		if (body.hasArray()) {
+			buf = body.array();
+			pos = body.arrayOffset() + body.position();
+			end = body.arrayOffset() + body.limit();
+		}	else {
+			buf = new byte[body.remaining()];
+			body.duplicate().get(buf);
+			pos = 0;
+			end = buf.length;
+		}
+		reset();
+		while (pos < end) {
+			byte b = buf[pos];
+			if (b == '<')
+				pos = parseTag(pos + 1, end);
+			else if (b == '&')
+				pos = parseEntity(pos + 1, end);
+			else pos = parseText(pos, end);
+		}
+		endToken();
+		buf = null;
+		WikipediaPage page = !sawContent || title == null ? new WikipediaPage(null, null, (String) null)
+			: new WikipediaPage(title, headings.toArray(new String[headings.size()]), getWords());
+		event.finish("bytes", page);
+		return page;
+	}
+
+	private void reset() {
+		numTokens = tokenLength = tokenHash = selectedDepth = 0;
+		firstChar = FIRST_NONE;
+		sawContent = false;
+		contentDepth = captureDepth = captureLength = 0;
+		title = null;
+		headings.clear();
+	}
+
+	/**
+	 * Builds the lowercase words of the article the way splitting
+	 * jsoup's joined text does, including the empty first word it
+	 * yields when the text is empty or starts with a non-letter.
+	 */
+	private String[] getWords() {
+		if (firstChar == FIRST_NONE)
+			return new String[] {""};
+		if (firstChar == FIRST_OTHER && numTokens > 0) {
+			String[] words = new String[numTokens + 1];
+			words[0] = "";
+			System.arraycopy(tokens, 0, words, 1, numTokens);
+			return words;
+		}
+		return Arrays.copyOf(tokens, numTokens);
+	}
+
+	/**
+	 * Consumes a run of text up to the next tag or entity.
+	 */
+	private int parseText(int pos, int end) {
+		int runEnd = kernel.findMarkup(buf, pos, end);
+		if (captureDepth > 0)
+			appendCapture(buf, pos, runEnd - pos);
+		if (selectedDepth > 0)
+			tokenizeText(pos, runEnd);
+		return runEnd;
+	}
+
+	/**
+	 * Cuts a run of text inside the selected elements into words, a
+	 * block at a time, jumping between runs of letters and separators
+	 * with the block's letter mask.
+	 */
+	private void tokenizeText(int from, int to) {
+		for (int block = from; block < to; block += TokenizerKernel.BLOCK_SIZE) {
+			int length = Math.min(TokenizerKernel.BLOCK_SIZE, to - block);
+			long letters = kernel.classify(buf, block, length, folded, 0);
+			for (int i = 0; i < length; ) {
+				long rest = letters >>> i;
+				if ((rest & 1) != 0) {
+					int run = Math.min(Long.numberOfTrailingZeros(~rest), length - i);
+					if (firstChar == FIRST_NONE)
+						firstChar = FIRST_LETTER;
+					appendToken(folded, i, run);
+					i += run;
+				}	else {
+					int run = Math.min(Long.numberOfTrailingZeros(rest), length - i);
+					if (firstChar == FIRST_NONE)
+						for (int j = block + i; j < block + i + run && firstChar == FIRST_NONE; j++)
+							if (!isWhitespace(buf[j]))
+								firstChar = FIRST_OTHER;
+					endToken();
+					i += run;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds letters to the word being built, lowercasing them.
+	 */
+	private void appendToken(byte[] letters, int offset, int length) {
+		if (tokenLength + length > token.length)
+			token = Arrays.copyOf(token, Math.max(token.length * 2, tokenLength + length));
+		int hash = tokenHash;
+		for (int i = 0; i < length; i++) {
+			byte letter = (byte) (letters[offset + i] | 0x20);
+			token[tokenLength++] = letter;
+			hash = 31 * hash + letter;
+		}
+		tokenHash = hash;
+	}
+
+	private void appendToken(byte letter) {
+		if (tokenLength == token.length)
+			token = Arrays.copyOf(token, token.length * 2);
+		letter |= 0x20;
+		token[tokenLength++] = letter;
+		tokenHash = 31 * tokenHash + letter;
+	}
+
+	/**
+	 * Ends the word being built, adding it once per selected
+	 * element it is inside of.
+	 */
+	private void endToken() {
+		if (tokenLength == 0)
+			return;
+		String word = wordTable.intern(token, 0, tokenLength, tokenHash);
+		for (int i = 0; i < selectedDepth; i++) {
+			if (numTokens == tokens.length)
+				tokens = Arrays.copyOf(tokens, tokens.length * 2);
+			tokens[numTokens++] = word;
+		}
+		tokenLength = tokenHash = 0;
+	}
+
+	/**
+	 * Handles a character outside a tag that is neither a letter
+	 * nor whitespace, such as a stray '&amp;' or '&lt;'.
+	 */
+	private void literal(byte c) {
+		if (captureDepth > 0)
+			appendCapture(c);
+		if (selectedDepth > 0) {
+			if (firstChar == FIRST_NONE)
+				firstChar = FIRST_OTHER;
+			endToken();
+		}
+	}
+
+	/**
+	 * Consumes a character reference. Named references never decode
+	 * to ASCII letters, numeric ones might.
+	 */
+	private int parseEntity(int pos, int end) {
+		int nameEnd = pos;
+		while (nameEnd < end && nameEnd - pos < 32 && (isLetter(buf[nameEnd]) || isDigit(buf[nameEnd]) || buf[nameEnd] == '#'))
+			nameEnd++;
+		if (nameEnd == pos || nameEnd == end || buf[nameEnd] != ';') {
+			literal((byte) '&');
+			return pos;
+		}
+		if (captureDepth > 0)
+			appendCapture(buf, pos - 1, nameEnd + 2 - pos);
+		if (selectedDepth > 0) {
+			int c = buf[pos] == '#' ? parseNumericEntity(pos + 1, nameEnd) : -1;
+			if (c >= 0 && c < 128 && isLetter((byte) c)) {
+				if (firstChar == FIRST_NONE)
+					firstChar = FIRST_LETTER;
+				appendToken((byte) c);
+			}	else {
+				if (firstChar == FIRST_NONE)
+					firstChar = FIRST_OTHER;
+				endToken();
+			}
+		}
+		return nameEnd + 1;
+	}
+
+	private int parseNumericEntity(int from, int to) {
+		int radix = 10;
+		if (from < to && (buf[from] | 0x20) == 'x') {
+			radix = 16;
+			from++;
+		}
+		int value = 0;
+		for (int i = from; i < to; i++) {
+			int digit = Character.digit(buf[i], radix);
+			if (digit < 0 || value > 0x10FFFF)
+				return -1;
+			value = value * radix + digit;
+		}
+		return from == to ? -1 : value;
+	}
+
+	/**
+	 * Consumes a tag (pos is just past its '&lt;'), updating which
+	 * elements the parser is inside of.
+	 */
+	private int parseTag(int pos, int end) {
+		if (pos >= end) {
+			literal((byte) '<');
+			return end;
+		}
+		if (buf[pos] == '!') {
+			if (pos + 2 < end && buf[pos + 1] == '-' && buf[pos + 2] == '-')
+				return skipPast(pos + 3, end, COMMENT_END);
+			return skipPast(pos, end, TAG_END);
+		}
+		if (buf[pos] == '?')
+			return skipPast(pos, end, TAG_END);
+		boolean closing = buf[pos] == '/';
+		int nameStart = closing ? pos + 1 : pos;
+		int nameEnd = nameStart;
+		if (nameEnd < end && isLetter(buf[nameEnd]))
+			while (nameEnd < end && (isLetter(buf[nameEnd]) || isDigit(buf[nameEnd]) || buf[nameEnd] == '-' || buf[nameEnd] == ':'))
+				nameEnd++;
+		if (nameEnd == nameStart) {
+			literal((byte) '<');
+			return pos;
+		}
+		long key = tagKey(buf, nameStart, nameEnd);
+		pos = parseAttributes(nameEnd, end);
+		if (closing) {
+			closeTag(key);
+			return pos;
+		}
+		openTag(key);
+		if ((key == TAG_SCRIPT || key == TAG_STYLE) && !selfClosing)
+			pos = skipPast(pos, end, key == TAG_SCRIPT ? SCRIPT_END : STYLE_END);
+		return pos;
+	}
+
+	/**
+	 * Reads the attributes of a tag, remembering where its id and
+	 * class values are.
+	 * @return the position just past the tag's '&gt;'.
+	 */
+	private int parseAttributes(int pos, int end) {
+		idFrom = idTo = classFrom = classTo = -1;
+		selfClosing = false;
+		while (pos < end) {
+			byte b = buf[pos];
+			if (b == '>')
+				return pos + 1;
+			if (b == '/') {
+				selfClosing = pos + 1 < end && buf[pos + 1] == '>';
+				pos++;
+				continue;
+			}
+			if (isWhitespace(b)) {
+				pos++;
+				continue;
+			}
+			int nameStart = pos;
+			while (pos < end && buf[pos] != '=' && buf[pos] != '>' && buf[pos] != '/' && !isWhitespace(buf[pos]))
+				pos++;
+			int nameEnd = pos;
+			while (pos < end && isWhitespace(buf[pos]))
+				pos++;
+			if (pos == end || buf[pos] != '=')
+				continue;
+			pos++;
+			while (pos < end && isWhitespace(buf[pos]))
+				pos++;
+			int valueStart, valueEnd;
+			if (pos < end && (buf[pos] == '"' || buf[pos] == '\'')) {
+				byte quote = buf[pos];
+				valueStart = ++pos;
+				while (pos < end && buf[pos] != quote)
+					pos++;
+				valueEnd = pos;
+				if (pos < end)
+					pos++;
+			}	else {
+				valueStart = pos;
+				while (pos < end && buf[pos] != '>' && !isWhitespace(buf[pos]))
+					pos++;
+				valueEnd = pos;
+			}
+			if (nameEnd - nameStart == 2 && (buf[nameStart] | 0x20) == 'i' && (buf[nameStart + 1] | 0x20) == 'd') {
+				idFrom = valueStart;
+				idTo = valueEnd;
+			}	else if (nameEnd - nameStart == 5 && equalsIgnoreCase(nameStart, nameEnd, ATTRIBUTE_CLASS)) {
+				classFrom = valueStart;
+				classTo = valueEnd;
+			}
+		}
+		return end;
+	}
+
+	private void openTag(long key) {
+		boolean isVoid = selfClosing || contains(VOID_TAGS, key);
+		if (key == TAG_BR || contains(BLOCK_TAGS, key)) {
+			if (selectedDepth > 0)
+				endToken();
+			if (captureDepth > 0)
+				appendCapture((byte) ' ');
+		}
+		if (idEquals(ID_CONTENT))
+			sawContent = true;
+		if (isVoid)
+			return;
+		if (contentDepth > 0) {
+			if (key == contentTag)
+				contentDepth++;
+		}	else if (idEquals(ID_CONTENT_TEXT)) {
+			contentTag = key;
+			contentDepth = 1;
+		}
+		if (contentDepth > 0 && (key == TAG_P || key == TAG_UL)) {
+			endToken();
+			selectedDepth++;
+		}
+		if (captureDepth > 0) {
+			if (key == captureTag)
+				captureDepth++;
+		}	else if (sawContent) {
+			if (title == null && idEquals(ID_FIRST_HEADING))
+				startCapture(key, true);
+			else if (classContains(CLASS_HEADLINE))
+				startCapture(key, false);
+		}
+	}
+
+	private void closeTag(long key) {
+		if (contentDepth > 0 && (key == TAG_P || key == TAG_UL) && selectedDepth > 0) {
+			endToken();
+			selectedDepth--;
+		}
+		if (contentDepth > 0 && key == contentTag && --contentDepth == 0) {
+			endToken();
+			selectedDepth = 0;
+		}
+		if (captureDepth > 0 && key == captureTag && --captureDepth == 0)
+			finishCapture();
+	}
+
+	private void startCapture(long key, boolean isTitle) {
+		captureTag = key;
+		captureDepth = 1;
+		captureLength = 0;
+		captureTitle = isTitle;
+	}
+
+	private void appendCapture(byte[] bytes, int offset, int length) {
+		if (captureLength + length > capture.length)
+			capture = Arrays.copyOf(capture, Math.max(capture.length * 2, captureLength + length));
+		System.arraycopy(bytes, offset, capture, captureLength, length);
+		captureLength += length;
+	}
+
+	private void appendCapture(byte b) {
+		if (captureLength == capture.length)
+			capture = Arrays.copyOf(capture, capture.length * 2);
+		capture[captureLength++] = b;
+	}
+
+	/**
+	 * Decodes the captured title or heading like jsoup's text():
+	 * entities unescaped, whitespace collapsed and trimmed.
+	 */
+	private void finishCapture() {
+		String raw = Parser.unescapeEntities(new String(capture, 0, captureLength, StandardCharsets.UTF_8), false);
+		StringBuilder text = new StringBuilder(raw.length());
+		boolean pendingSpace = false;
+		for (int i = 0; i < raw.length(); i++) {
+			char c = raw.charAt(i);
+			if (c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r')
+				pendingSpace = text.length() > 0;
+			else {
+				if (pendingSpace)
+					text.append(' ');
+				pendingSpace = false;
+				text.append(c);
+			}
+		}
+		if (captureTitle)
+			title = text.toString();
+		else headings.add(text.toString());
+	}
+
+	private int skipPast(int pos, int end, byte[] terminator) {
+		for (int i = pos; i + terminator.length <= end; i++)
+			if (equalsIgnoreCase(i, i + terminator.length, terminator)) {
+				i += terminator.length;
+				while (i < end && buf[i - 1] != '>')
+					i++;
+				return i;
+			}
+		return end;
+	}
+
+	private boolean idEquals(byte[] id) {
+		return idFrom >= 0 && idTo - idFrom == id.length && equals(idFrom, idTo, id);
+	}
+
+	private boolean classContains(byte[] name) {
+		for (int i = classFrom; i >= 0 && i + name.length <= classTo; i++)
+			if ((i == classFrom || isWhitespace(buf[i - 1])) && equals(i, i + name.length, name)
+					&& (i + name.length == classTo || isWhitespace(buf[i + name.length])))
+				return true;
+		return false;
+	}
+
+	private boolean equals(int from, int to, byte[] bytes) {
+		for (int i = from; i < to; i++)
+			if (buf[i] != bytes[i - from])
+				return false;
+		return true;
+	}
+
+	private boolean equalsIgnoreCase(int from, int to, byte[] bytes) {
+		for (int i = from; i < to; i++)
+			if (buf[i] != bytes[i - from] && (!isLetter(buf[i]) || (buf[i] | 0x20) != (bytes[i - from] | 0x20)))
+				return false;
+		return true;
+	}
+
+	static boolean isLetter(byte b) {
+		int lower = (b | 0x20) - 'a';
+		return lower >= 0 && lower < 26;
+	}
+
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\n' || b == '\t' || b == '\r' || b == '\f';
+	}
+
+	/**
+	 * Hashes a lowercased tag name (FNV-1a), so tags are compared
+	 * without creating Strings.
+	 */
+	private static long tagKey(byte[] bytes, int from, int to) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = from; i < to; i++)
+			hash = (hash ^ (bytes[i] | 0x20)) * 0x100000001b3L;
+		return hash;
+	}
+
+	private static long tagKey(String name) {
+		byte[] bytes = ascii(name);
+		return tagKey(bytes, 0, bytes.length);
+	}
+
+	private static long[] tagKeys(String... names) {
+		long[] keys = new long[names.length];
+		for (int i = 0; i < names.length; i++)
+			keys[i] = tagKey(names[i]);
+		Arrays.sort(keys);
+		return keys;
+	}
+
+	private static boolean contains(long[] keys, long key) {
+		return Arrays.binarySearch(keys, key) >= 0;
+	}
+
+	private static byte[] ascii(String text) {
+		return text.getBytes(StandardCharsets.US_ASCII);
+	}
+}
@@ -0,0 +1,124 @@
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ByteWordTable
+ * Maps lowercase ASCII words given as byte slices to a single
+ * canonical {@link String} per word, so that a word's String is
+ * only created the first time it is seen. Slices are hashed the
+ * same way as {@link String#hashCode()}, which lets a lookup reject
+ * almost every mismatch without comparing characters. The table
+ * keeps at most a fixed number of words, the first ones seen, which
+ * under Zipf's law are mostly the common ones; any other word gets a
+ * new String every time it is seen, so the table stays bounded
+ * however long the run.
+ *
+ * Not thread safe, every {@link WikipediaWordsThread} keeps its own.
+ *
+ * @since October 2026
+ */
+class ByteWordTable {
+
+	public static final int DEFAULT_MAX_WORDS = 1 << 16;
+
+	private String[] words;
+	private int[]    hashes;
+	private int      size;
+	private int      maxWords;
+
+	public ByteWordTable() {
+		this(DEFAULT_MAX_WORDS);
+	}
+
+	/**
+	 * Constructor with the most words to keep.
+	 * @param maxWords The most distinct words to keep canonical
+	 *                 Strings of.
+	 */
+	public ByteWordTable(int maxWords) {
+		this.maxWords = Math.max(1, maxWords);
+		words = new String[1 << 12];
+		hashes = new int[words.length];
+		size = 0;
+	}
+
+	/**
+	 * Hashes a slice of bytes like {@link String#hashCode()} hashes
+	 * the equivalent ASCII String.
+	 * @param  buf    The bytes holding the word.
+	 * @param  offset The index of the word's first byte.
+	 * @param  length The length of the word.
+	 * @return        The hash of the word.
+	 */
+	public static int hash(byte[] buf, int offset, int length) {
+		int hash = 0;
+		for (int i = offset; i < offset + length; i++)
+			hash = 31 * hash + buf[i];
+		return hash;
+	}
+
+	/**
+	 * Gets the canonical String of a word, creating it if this is
+	 * the first time the word is seen, or a new String if the table
+	 * is full.
+	 * @param  buf    The bytes holding the word.
+	 * @param  offset The index of the word's first byte.
+	 * @param  length The length of the word.
+	 * @param  hash   The {@link #hash(byte[], int, int)} of the word.
+	 * @return        The canonical String of the word.
+	 */
+	public String intern(byte[] buf, int offset, int length, int hash) {
+		int mask = words.length - 1;
+		int slot = mix(hash) & mask;
+		for (String word = words[slot]; word != null; word = words[slot]) {
+			if (hashes[slot] == hash && matches(word, buf, offset, length))
+				return word;
+			slot = (slot + 1) & mask;
+		}
+		String word = new String(buf, offset, length, StandardCharsets.ISO_8859_1);
+		if (size >= maxWords)
+			return word;
+		words[slot] = word;
+		hashes[slot] = hash;
+		if (++size > words.length / 2)
+			grow();
+		return word;
+	}
+
+	/**
+	 * Returns the number of distinct words in the table.
+	 * @return the number of distinct words.
+	 */
+	public int size() {
+		return size;
+	}
+
+	private static boolean matches(String word, byte[] buf, int offset, int length) {
+		if (word.length() != length)
+			return false;
+		for (int i = 0; i < length; i++)
+			if (word.charAt(i) != buf[offset + i])
+				return false;
+		return true;
+	}
+
+	private static int mix(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private void grow() {
+		String[] oldWords = words;
+		int[] oldHashes = hashes;
+		words = new String[oldWords.length * 2];
+		hashes = new int[words.length];
+		int mask = words.length - 1;
+		for (int i = 0; i < oldWords.length; i++) {
+			if (oldWords[i] == null)
+				continue;
+			int slot = mix(oldHashes[i]) & mask;
+			while (words[slot] != null)
+				slot = (slot + 1) & mask;
+			words[slot] = oldWords[i];
+			hashes[slot] = oldHashes[i];
+		}
+	}
+}
@@ -0,0 +1,109 @@
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+/**
+ * CrawlArticleSource
+ * Produces articles by following links. Every fetched article's
+ * links to other articles are added to the shared
+ * {@link CrawlFrontier}, and the next article is taken from it,
+ * so coverage grows outwards from where the crawl started instead
+ * of being a uniform sample. Whenever the frontier runs dry a new
+ * starting point is taken from Special:Random.
+ *
+ * @since October 2026
+ */
+class CrawlArticleSource implements ArticleSource {
+
+	private static final String ARTICLE_PREFIX = "/wiki/";
+
+	private FetchScheduler fetchScheduler;
+	private CrawlFrontier  frontier;
+	private String randomArticleURL;
+	private String baseURL;
+	private BlockCache blockCache;
+
+	/**
+	 * Constructor with the {@link FetchScheduler} to fetch through, the
+	 * shared {@link CrawlFrontier} and the url of the random article page,
+	 * whose host the crawl stays on.
+	 * @param fetchScheduler   The shared {@link FetchScheduler}.
+	 * @param frontier         The shared {@link CrawlFrontier}.
+	 * @param randomArticleURL The url serving a random article.
+	 * @param blockCache       The cache of block words, or null for none.
+	 */
+	public CrawlArticleSource(FetchScheduler fetchScheduler, CrawlFrontier frontier, String randomArticleURL, BlockCache blockCache) {
+		this.fetchScheduler = fetchScheduler;
+		this.frontier = frontier;
+		this.randomArticleURL = randomArticleURL;
+		this.blockCache = blockCache;
+		baseURL = getBaseURL(randomArticleURL);
+	}
+
+	public WikipediaPage nextPage() {
+		String path = frontier.poll();
+		FetchResult result = fetchScheduler.fetch(path == null ? randomArticleURL : baseURL + path);
+		if (!result.isSuccess()) {
+			if (path != null && result.isThrottled())
+				frontier.requeue(path);
+			return null;
+		}
+		Document document = result.getDocument();
+		if (path == null)
+			frontier.markVisited(getPath(document.location()));
+		for (String link : getArticleLinks(document))
+			frontier.offer(link);
+		return new WikipediaPage(document, blockCache);
+	}
+
+	public boolean hasNext() {
+		return true;
+	}
+
+	/**
+	 * Finds the links of an article's content to other articles,
+	 * leaving out links to other namespaces (File:, Help:, ...) and
+	 * stripping fragments so every article has a single url.
+	 * @param  document The article.
+	 * @return          The url paths of the linked articles.
+	 */
+	static ArrayList<String> getArticleLinks(Document document) {
+		ArrayList<String> links = new ArrayList<String>();
+		for (Element link : document.select("#mw-content-text a[href^=" + ARTICLE_PREFIX + "]")) {
+			String href = link.attr("href");
+			int fragment = href.indexOf('#');
+			if (fragment >= 0)
+				href = href.substring(0, fragment);
+			if (href.length() > ARTICLE_PREFIX.length() && href.indexOf(':') < 0 && href.indexOf('?') < 0)
+				links.add(href);
+		}
+		return links;
+	}
+
+	/**
+	 * Returns the scheme, host and port of a url.
+	 */
+	private static String getBaseURL(String url) {
+		try {
+			URL parsed = new URL(url);
+			return parsed.getProtocol() + "://" + parsed.getAuthority();
+		}	catch (MalformedURLException e) {
+			return "";
+		}
+	}
+
+	/**
+	 * Returns the path of a url, which for an article is how it
+	 * appears in the links of other articles.
+	 */
+	private static String getPath(String url) {
+		try {
+			return new URL(url).getPath();
+		}	catch (MalformedURLException e) {
+			return url;
+		}
+	}
+}
@@ -0,0 +1,214 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+/**
+ * CrawlFrontier
+ * The urls waiting to be crawled, shared by every thread of a crawl.
+ * Urls come out first in first out, and only the oldest and newest
+ * segments of the queue are kept in memory; full segments in between
+ * are spilled to files under results/. A {@link LongHashSet} of 64-bit
+ * url hashes remembers every url ever queued, so a url is handed out
+ * at most once however often it is linked.
+ *
+ * If spill files cannot be written {@link #MAX_SPILL_FAILURES} times
+ * in a row, the frontier stops taking new urls rather than growing
+ * past its memory limit.
+ *
+ * @since October 2026
+ */
+class CrawlFrontier {
+
+	public static final String SPILL_PATH = "results/frontier-%d.txt";
+	public static final int MAX_SPILL_FAILURES = 3;
+
+	private LongHashSet visited;
+	private ArrayDeque<String> head, tail;
+	private ArrayDeque<String> spillFiles;
+	private ArrayDeque<Integer> spillSizes;
+	private int  segmentSize;
+	private int  spillCount;
+	private int  spillFailures;
+	private long dropped;
+	private long size;
+
+	/**
+	 * Constructor with the number of pending urls to keep in memory.
+	 * @param memoryURLs The most pending urls kept in memory before
+	 *                   spilling to disk.
+	 */
+	public CrawlFrontier(int memoryURLs) {
+		visited = new LongHashSet();
+		head = new ArrayDeque<String>();
+		tail = new ArrayDeque<String>();
+		spillFiles = new ArrayDeque<String>();
+		spillSizes = new ArrayDeque<Integer>();
+		segmentSize = Math.max(1, memoryURLs / 2);
+		spillCount = spillFailures = 0;
+		size = dropped = 0;
+	}
+
+	/**
+	 * Queues a url unless it has been queued or visited before.
+	 * @param  path The url path of the article, e.g. /wiki/Word.
+	 * @return      true if the url was new and queued.
+	 */
+	public synchronized boolean offer(String path) {
+		if (isFull() || !visited.add(hash(path)))
+			return false;
+		enqueue(path);
+		return true;
+	}
+
+	/**
+	 * Puts a url handed out before back at the end of the queue, such
+	 * as one that could not be fetched because of throttling.
+	 * @param path The url path to retry.
+	 */
+	public synchronized void requeue(String path) {
+		if (isFull())
+			dropped++;
+		else enqueue(path);
+	}
+
+	/**
+	 * Marks a url as visited without queueing it, for articles
+	 * reached some other way.
+	 * @param  path The url path of the article.
+	 * @return      true if the url was not visited or queued before.
+	 */
+	public synchronized boolean markVisited(String path) {
+		return visited.add(hash(path));
+	}
+
+	/**
+	 * Takes the oldest pending url.
+	 * @return the url path, or null if nothing is pending.
+	 */
+	public synchronized String poll() {
+		while (head.isEmpty() && !spillFiles.isEmpty())
+			readSpill();
+		if (head.isEmpty()) {
+			ArrayDeque<String> swap = head;
+			head = tail;
+			tail = swap;
+		}
+		String path = head.poll();
+		if (path != null)
+			size--;
+		return path;
+	}
+
+	/**
+	 * Returns the number of pending urls, in memory and on disk.
+	 * @return the number of pending urls.
+	 */
+	public synchronized long size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of urls lost because spill files could not
+	 * be written or read back.
+	 * @return the number of dropped urls.
+	 */
+	public synchronized long getDroppedCount() {
+		return dropped;
+	}
+
+	/**
+	 * Returns the number of distinct urls ever queued or visited.
+	 * @return the number of urls seen.
+	 */
+	public synchronized int getVisitedCount() {
+		return visited.size();
+	}
+
+	/**
+	 * Deletes the spill files of urls never crawled.
+	 */
+	public synchronized void close() {
+		for (String spillFile : spillFiles)
+			OpenFile.deleteFile(spillFile);
+		spillFiles.clear();
+		spillSizes.clear();
+	}
+
+	/**
+	 * Whether the frontier gave up spilling and has no room left
+	 * in memory.
+	 */
+	private boolean isFull() {
+		return spillFailures >= MAX_SPILL_FAILURES && tail.size() >= segmentSize * (1 + MAX_SPILL_FAILURES);
+	}
+
+	private void enqueue(String path) {
+		tail.add(path);
+		size++;
+		if (spillFailures < MAX_SPILL_FAILURES && tail.size() >= segmentSize * (1 + spillFailures))
+			writeSpill();
+	}
+
+	/**
+	 * Moves the newest urls to a file. If they cannot be written they
+	 * stay in memory and the next attempt is a segment later, until
+	 * {@link #MAX_SPILL_FAILURES} attempts in a row failed.
+	 */
+	private void writeSpill() {
+		String spillFile = String.format(SPILL_PATH, spillCount);
+		BufferedWriter writer = OpenFile.openFileToWriter(spillFile);
+		try {
+			if (writer == null)
+				throw new IOException("cannot open " + spillFile);
+			for (String path : tail)
+				writer.write(path + "\n");
+			writer.close();
+		}	catch (IOException e) {
+			OpenFile.deleteFile(spillFile);
+			if (++spillFailures < MAX_SPILL_FAILURES)
+				System.err.printf("Failed spilling crawl frontier: %s\n", e.getMessage());
+			else System.err.printf("Failed spilling crawl frontier %d times, not queueing more urls!!!\n", spillFailures);
+			return;
+		}
+		spillCount++;
+		spillFailures = 0;
+		spillFiles.add(spillFile);
+		spillSizes.add(tail.size());
+		tail.clear();
+	}
+
+	/**
+	 * Moves the oldest spilled urls back into memory. Urls that cannot
+	 * be read back are no longer pending.
+	 */
+	private void readSpill() {
+		String spillFile = spillFiles.poll();
+		int spillSize = spillSizes.poll();
+		int recovered = 0;
+		BufferedReader reader = OpenFile.openFileToReader(spillFile);
+		try {
+			if (reader == null)
+				throw new IOException("cannot open " + spillFile);
+			for (String path = reader.readLine(); path != null && recovered < spillSize; path = reader.readLine(), recovered++)
+				head.add(path);
+			reader.close();
+		}	catch (IOException e) {
+			System.err.printf("Failed reading crawl frontier, lost %,d urls: %s\n", spillSize - recovered, e.getMessage());
+		}
+		size -= spillSize - recovered;
+		dropped += spillSize - recovered;
+		OpenFile.deleteFile(spillFile);
+	}
+
+	/**
+	 * Hashes a url with 64-bit FNV-1a, wide enough that distinct urls
+	 * practically never collide even after millions.
+	 */
+	private static long hash(String path) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < path.length(); i++)
+			hash = (hash ^ path.charAt(i)) * 0x100000001b3L;
+		return hash;
+	}
+}
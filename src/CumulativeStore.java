@@ -0,0 +1,453 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * CumulativeStore
+ * The results of every cumulative run, kept as a log of sorted delta
+ * segments (result files like the threads', one per run) instead of
+ * a single file rewritten every run, so saving a run costs as much
+ * as the run itself. Reading merges the segments on the fly with
+ * {@link WordListMerger}, and a background compaction folds newer,
+ * smaller segments together whenever there are too many.
+ *
+ * The manifest lists the live segments. Segments are synced to disk
+ * before the manifest names them, and the manifest is replaced with
+ * an atomic rename, so a crash leaves either the old or the new set
+ * of segments; files the manifest does not name are leftovers and are
+ * deleted on opening.
+ *
+ * A summary of the {@link #SUMMARY_WORDS} most common words of every
+ * section is kept next to the manifest, for printing the top words
+ * and picking hot words ({@link HotWordTable}) without merging. Each
+ * appended segment is added to it by reading just that segment, so
+ * a word's counts from runs in which it fell out of the summary are
+ * missing; every full {@link #merge} makes the summary exact again.
+ *
+ * @since October 2026
+ */
+class CumulativeStore {
+
+	public static final String DIRECTORY     = "results/cumulative";
+	public static final String LEGACY_PATH   = "results/cumulative-results.txt";
+	public static final int    MAX_SEGMENTS  = 4;
+	public static final int    NUM_SECTIONS  = 4;
+	public static final int    SUMMARY_WORDS = 4096;
+
+	private static final String MANIFEST     = "manifest.txt";
+	private static final String SUMMARY      = "summary.txt";
+	private static final String SEGMENT_NAME = "segment-%d.txt";
+
+	private String directory;
+	private ArrayList<String> segments;
+	private int    nextSegment;
+	private int    appends;
+	private Thread compaction;
+
+	/**
+	 * Constructor with the directory of the store, which is created,
+	 * migrated from {@link #LEGACY_PATH} or cleaned up as needed.
+	 * @param  directory The directory holding the manifest and segments.
+	 * @throws IOException if the store cannot be read or set up.
+	 */
+	public CumulativeStore(String directory) throws IOException {
+		this.directory = directory;
+		segments = new ArrayList<String>();
+		nextSegment = appends = 0;
+		new File(directory).mkdirs();
+		if (OpenFile.fileExists(getPath(MANIFEST)))
+			readManifest();
+		else if (OpenFile.fileExists(LEGACY_PATH))
+			migrate();
+		deleteLeftovers();
+		if (!segments.isEmpty() && !OpenFile.fileExists(getPath(SUMMARY)))
+			rebuildSummary();
+	}
+
+	/**
+	 * Adds a run's results as a new segment, and to the summary.
+	 * @param  path A result file of {@link #NUM_SECTIONS} sorted sections,
+	 *              which is moved into the store.
+	 * @throws IOException if the segment, manifest or summary cannot be
+	 *                     written.
+	 */
+	public synchronized void append(String path) throws IOException {
+		String segment = String.format(SEGMENT_NAME, nextSegment++);
+		OpenFile.syncFile(path);
+		if (!OpenFile.moveFile(path, getPath(segment)))
+			throw new IOException("Cannot move " + path + " into " + directory);
+		ArrayList<String> newSegments = new ArrayList<String>(segments);
+		newSegments.add(segment);
+		writeManifest(newSegments);
+		appends++;
+		addToSummary(getPath(segment));
+	}
+
+	/**
+	 * Merges every segment into a single result file, and saves the
+	 * exact summary of the merged results.
+	 * @param  outputPath  The path to write the merged results to.
+	 * @param  numTopWords The number of most common words to keep per
+	 *                     section, at least {@link #SUMMARY_WORDS}.
+	 * @return             A {@link WordList} per section holding its
+	 *                     most common words.
+	 * @throws IOException if reading or writing fails.
+	 */
+	public WordList[] merge(String outputPath, int numTopWords) throws IOException {
+		ArrayList<String> paths = new ArrayList<String>();
+		int appends;
+		synchronized (this) {
+			for (String segment : segments)
+				paths.add(getPath(segment));
+			appends = this.appends;
+		}
+		WordList[] topWords = WordListMerger.merge(paths, outputPath, NUM_SECTIONS, Math.max(numTopWords, SUMMARY_WORDS));
+		synchronized (this) {
+			if (appends == this.appends) {
+				ArrayList<List<WordHistogram>> summary = new ArrayList<List<WordHistogram>>();
+				for (WordList section : topWords) {
+					WordList sorted = new WordList(section.size());
+					sorted.addAll(section);
+					summary.add(sorted.sortOccurences());
+				}
+				writeSummary(summary);
+			}
+		}
+		return topWords;
+	}
+
+	/**
+	 * Returns the most common words of every section from the summary.
+	 * @param  numWords The number of most common words per section.
+	 * @return          A {@link WordList} per section holding at most
+	 *                  numWords of its most common words.
+	 * @throws IOException if the summary cannot be read.
+	 */
+	public synchronized WordList[] getSummary(int numWords) throws IOException {
+		WordList[] topWords = new WordList[NUM_SECTIONS];
+		ArrayList<ArrayList<WordHistogram>> summary = readSummary();
+		for (int section = 0; section < NUM_SECTIONS; section++) {
+			topWords[section] = new WordList(numWords);
+			for (WordHistogram word : summary.get(section).subList(0, Math.min(numWords, summary.get(section).size())))
+				topWords[section].addWord(word);
+		}
+		return topWords;
+	}
+
+	/**
+	 * Starts compacting in the background if there are more than
+	 * {@link #MAX_SEGMENTS} segments. The thread is not a daemon, so
+	 * the program waits for it before exiting.
+	 * @return whether a compaction was started.
+	 */
+	public synchronized boolean startCompaction() {
+		if (segments.size() <= MAX_SEGMENTS || (compaction != null && compaction.isAlive()))
+			return false;
+		compaction = new Thread("Cumulative Compaction") {
+			@Override
+			public void run() {
+				try {
+					compact();
+				}	catch (IOException e) {
+					System.err.printf("Failed compacting cumulative results: %s\n", e.getMessage());
+				}
+			}
+		};
+		compaction.start();
+		return true;
+	}
+
+	/**
+	 * Waits for a background compaction to finish.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	public void waitForCompaction() throws InterruptedException {
+		Thread compaction;
+		synchronized (this) {
+			compaction = this.compaction;
+		}
+		if (compaction != null)
+			compaction.join();
+	}
+
+	/**
+	 * Returns the most common words of all runs from the summary.
+	 * @param  numWords The most words to return, of which there are
+	 *                  at most {@link #SUMMARY_WORDS}.
+	 * @return          The words, most common first, or null if there
+	 *                  are none.
+	 * @throws IOException if the summary cannot be read.
+	 */
+	public synchronized String[] readHotWords(int numWords) throws IOException {
+		ArrayList<WordHistogram> words = readSummary().get(0);
+		if (words.isEmpty())
+			return null;
+		String[] hotWords = new String[Math.min(numWords, words.size())];
+		for (int i = 0; i < hotWords.length; i++)
+			hotWords[i] = words.get(i).getWord();
+		return hotWords;
+	}
+
+	/**
+	 * Returns the number of live segments.
+	 * @return the number of segments.
+	 */
+	public synchronized int getSegmentCount() {
+		return segments.size();
+	}
+
+	/**
+	 * Folds segments together until at most {@link #MAX_SEGMENTS}
+	 * are left. Each step merges the newest segments, reaching back
+	 * over older ones while they are no more than twice the size of
+	 * everything newer, so large old segments are rewritten rarely
+	 * (size tiered, like an LSM tree).
+	 */
+	private void compact() throws IOException {
+		while (true) {
+			List<String> inputs;
+			int from;
+			String output;
+			synchronized (this) {
+				if (segments.size() <= MAX_SEGMENTS)
+					return;
+				from = segments.size() - 2;
+				long newer = getSize(segments.get(from)) + getSize(segments.get(from + 1));
+				while (from > 0 && getSize(segments.get(from - 1)) <= 2 * newer) {
+					from--;
+					newer += getSize(segments.get(from));
+				}
+				inputs = new ArrayList<String>(segments.subList(from, segments.size()));
+				output = String.format(SEGMENT_NAME, nextSegment++);
+			}
+			ArrayList<String> paths = new ArrayList<String>();
+			for (String input : inputs)
+				paths.add(getPath(input));
+			WordListMerger.merge(paths, getPath(output), NUM_SECTIONS, 0);
+			OpenFile.syncFile(getPath(output));
+			synchronized (this) {
+				ArrayList<String> newSegments = new ArrayList<String>(segments);
+				newSegments.removeAll(inputs);
+				newSegments.add(from, output);
+				writeManifest(newSegments);
+			}
+			for (String input : inputs)
+				OpenFile.deleteFile(getPath(input));
+		}
+	}
+
+	/**
+	 * Adds the counts of a segment to the summary, keeping the
+	 * {@link #SUMMARY_WORDS} most common words of every section.
+	 */
+	private void addToSummary(String path) throws IOException {
+		ArrayList<ArrayList<WordHistogram>> summary = readSummary();
+		ArrayList<List<WordHistogram>> newSummary = new ArrayList<List<WordHistogram>>();
+		BufferedReader reader = OpenFile.openFileToReader(path);
+		if (reader == null)
+			throw new IOException("Cannot read " + path);
+		try {
+			for (int section = 0; section < NUM_SECTIONS; section++) {
+				HashMap<String, Integer> counts = new HashMap<String, Integer>();
+				for (WordHistogram word : summary.get(section))
+					counts.put(word.getWord(), word.getOccurrences());
+				PriorityQueue<WordHistogram> top = new PriorityQueue<WordHistogram>(SUMMARY_WORDS + 1, new Comparator<WordHistogram>() {
+					@Override
+					public int compare(WordHistogram word1, WordHistogram word2) {
+						return Integer.compare(word1.getOccurrences(), word2.getOccurrences());
+					}
+				});
+				String line = reader.readLine();
+				int numWords = line == null ? 0 : parseCount(line, path);
+				for (int i = 0; i < numWords; i++) {
+					String word = reader.readLine();
+					line = reader.readLine();
+					if (word == null || line == null)
+						throw new IOException("Truncated section in " + path);
+					Integer count = counts.remove(word);
+					addTopWord(top, new WordHistogram(word, parseCount(line, path) + (count == null ? 0 : count)));
+				}
+				for (String word : counts.keySet())
+					addTopWord(top, new WordHistogram(word, counts.get(word)));
+				WordList sorted = new WordList(top.size());
+				sorted.addAll(top);
+				newSummary.add(sorted.sortOccurences());
+			}
+		}	finally {
+			reader.close();
+		}
+		writeSummary(newSummary);
+	}
+
+	private static void addTopWord(PriorityQueue<WordHistogram> top, WordHistogram word) {
+		if (top.size() < SUMMARY_WORDS)
+			top.add(word);
+		else if (word.getOccurrences() > top.peek().getOccurrences()) {
+			top.poll();
+			top.add(word);
+		}
+	}
+
+	/**
+	 * Saves the summary of a store left without one, by an older
+	 * version or a crash, with a full merge.
+	 */
+	private void rebuildSummary() throws IOException {
+		String mergedPath = getPath(SUMMARY + ".merged");
+		try {
+			merge(mergedPath, SUMMARY_WORDS);
+		}	finally {
+			OpenFile.deleteFile(mergedPath);
+		}
+	}
+
+	/**
+	 * Reads the summary: every section's most common words, most
+	 * common first, with empty sections if there is no summary.
+	 */
+	private ArrayList<ArrayList<WordHistogram>> readSummary() throws IOException {
+		ArrayList<ArrayList<WordHistogram>> summary = new ArrayList<ArrayList<WordHistogram>>();
+		for (int section = 0; section < NUM_SECTIONS; section++)
+			summary.add(new ArrayList<WordHistogram>());
+		String path = getPath(SUMMARY);
+		BufferedReader reader = OpenFile.openFileToReader(path);
+		if (reader == null)
+			return summary;
+		try {
+			for (int section = 0; section < NUM_SECTIONS; section++) {
+				String line = reader.readLine();
+				int numWords = line == null ? 0 : parseCount(line, path);
+				for (int i = 0; i < numWords; i++) {
+					String word = reader.readLine();
+					line = reader.readLine();
+					if (word == null || line == null)
+						throw new IOException("Truncated section in " + path);
+					summary.get(section).add(new WordHistogram(word, parseCount(line, path)));
+				}
+			}
+		}	finally {
+			reader.close();
+		}
+		return summary;
+	}
+
+	/**
+	 * Replaces the summary, in the result file format but with every
+	 * section's words most common first, like the manifest.
+	 */
+	private void writeSummary(List<List<WordHistogram>> summary) throws IOException {
+		String tempPath = getPath(SUMMARY + ".tmp");
+		BufferedWriter writer = OpenFile.openFileToWriter(tempPath);
+		if (writer == null)
+			throw new IOException("Cannot write " + tempPath);
+		try {
+			for (List<WordHistogram> section : summary) {
+				writer.write(section.size() + "\n");
+				for (WordHistogram word : section)
+					writer.write(word.getWord() + "\n" + word.getOccurrences() + "\n");
+			}
+		}	finally {
+			writer.close();
+		}
+		OpenFile.syncFile(tempPath);
+		OpenFile.replaceFileAtomically(tempPath, getPath(SUMMARY));
+	}
+
+	private static int parseCount(String count, String path) throws IOException {
+		try {
+			return Integer.parseInt(count);
+		}	catch (NumberFormatException e) {
+			throw new IOException("Misformatted count \"" + count + "\" in " + path, e);
+		}
+	}
+
+	/**
+	 * Makes the legacy single cumulative file the first segment.
+	 */
+	private void migrate() throws IOException {
+		String segment = String.format(SEGMENT_NAME, nextSegment++);
+		if (!OpenFile.moveFile(LEGACY_PATH, getPath(segment)))
+			throw new IOException("Cannot migrate " + LEGACY_PATH);
+		OpenFile.syncFile(getPath(segment));
+		writeManifest(new ArrayList<String>(Arrays.asList(segment)));
+	}
+
+	private void readManifest() throws IOException {
+		BufferedReader reader = OpenFile.openFileToReader(getPath(MANIFEST));
+		if (reader == null)
+			throw new IOException("Cannot read " + getPath(MANIFEST));
+		try {
+			for (String segment = reader.readLine(); segment != null; segment = reader.readLine())
+				if (!segment.isEmpty()) {
+					segments.add(segment);
+					nextSegment = Math.max(nextSegment, getSegmentNumber(segment) + 1);
+				}
+		}	finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Replaces the manifest: written to a temporary file, synced,
+	 * then renamed over the old one.
+	 */
+	private void writeManifest(ArrayList<String> newSegments) throws IOException {
+		String tempPath = getPath(MANIFEST + ".tmp");
+		BufferedWriter writer = OpenFile.openFileToWriter(tempPath);
+		if (writer == null)
+			throw new IOException("Cannot write " + tempPath);
+		try {
+			for (String segment : newSegments)
+				writer.write(segment + "\n");
+		}	finally {
+			writer.close();
+		}
+		OpenFile.syncFile(tempPath);
+		OpenFile.replaceFileAtomically(tempPath, getPath(MANIFEST));
+		OpenFile.syncFile(directory);
+		segments = newSegments;
+	}
+
+	/**
+	 * Deletes segments the manifest does not name, left over from a
+	 * crash between writing a segment and the manifest, or between
+	 * the manifest and deleting compacted segments.
+	 */
+	private void deleteLeftovers() {
+		HashSet<String> live = new HashSet<String>(segments);
+		String[] files = new File(directory).list();
+		if (files == null)
+			return;
+		for (String file : files)
+			if (getSegmentNumber(file) >= 0 && !live.contains(file)) {
+				OpenFile.deleteFile(getPath(file));
+				nextSegment = Math.max(nextSegment, getSegmentNumber(file) + 1);
+			}
+	}
+
+	private static int getSegmentNumber(String file) {
+		if (!file.startsWith("segment-") || !file.endsWith(".txt"))
+			return -1;
+		try {
+			return Integer.parseInt(file.substring("segment-".length(), file.length() - ".txt".length()));
+		}	catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private long getSize(String segment) {
+		return new File(getPath(segment)).length();
+	}
+
+	private String getPath(String file) {
+		return directory + "/" + file;
+	}
+}
@@ -0,0 +1,135 @@
+import java.util.Arrays;
+
+/**
+ * DocumentFrequencyCounter
+ * Counts the number of articles every word appears in, as opposed
+ * to its total occurrences. Rather than building a set of each
+ * article's distinct words, every slot of the table remembers the
+ * last article (epoch) it was counted for, so a repeated word is
+ * skipped with a single comparison.
+ *
+ * Not thread safe, every {@link WikipediaWordsThread} keeps its own.
+ * The counts are saved and merged as a {@link WordList} like the
+ * other lists, with the number of articles under {@link #DOCUMENTS}.
+ *
+ * @since October 2026
+ */
+class DocumentFrequencyCounter {
+
+	/** The entry holding the number of articles, not a possible word. */
+	public static final String DOCUMENTS = "#documents";
+
+	private String[] words;
+	private int[]    counts;
+	private int[]    lastSeen;
+	private int      size;
+	private int      epoch;
+
+	public DocumentFrequencyCounter() {
+		clear();
+	}
+
+	/**
+	 * Counts the distinct words of an article.
+	 * @param articleWords The words of the article, in any order and
+	 *                     with repeats.
+	 */
+	public void addDocument(String[] articleWords) {
+		epoch++;
+		for (String word : articleWords) {
+			if (word.isEmpty())
+				continue;
+			int slot = findSlot(word);
+			if (words[slot] == null) {
+				words[slot] = word;
+				if (++size > words.length / 2) {
+					grow();
+					slot = findSlot(word);
+				}
+			}
+			if (lastSeen[slot] != epoch) {
+				lastSeen[slot] = epoch;
+				counts[slot]++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of articles a word appeared in.
+	 * @param  word The lowercase word.
+	 * @return      The document frequency of the word.
+	 */
+	public int getDocumentFrequency(String word) {
+		int slot = findSlot(word);
+		return words[slot] == null ? 0 : counts[slot];
+	}
+
+	/**
+	 * Returns the number of articles counted.
+	 * @return the number of articles.
+	 */
+	public int getDocuments() {
+		return epoch;
+	}
+
+	/**
+	 * Returns the number of distinct words counted.
+	 * @return the number of distinct words.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Builds an alphabetically sorted {@link WordList} of the document
+	 * frequencies, including the {@link #DOCUMENTS} entry.
+	 * @return the document frequencies as a {@link WordList}.
+	 */
+	public WordList toWordList() {
+		WordHistogram[] entries = new WordHistogram[size + 1];
+		int numEntries = 0;
+		entries[numEntries++] = new WordHistogram(DOCUMENTS, epoch);
+		for (int i = 0; i < words.length; i++)
+			if (words[i] != null)
+				entries[numEntries++] = new WordHistogram(words[i], counts[i]);
+		Arrays.sort(entries);
+		WordList wordList = new WordList(entries.length);
+		wordList.addAll(Arrays.asList(entries));
+		return wordList;
+	}
+
+	/**
+	 * Forgets every count, such as after spilling them to disk.
+	 */
+	public void clear() {
+		words = new String[1 << 12];
+		counts = new int[words.length];
+		lastSeen = new int[words.length];
+		size = epoch = 0;
+	}
+
+	private int findSlot(String word) {
+		int mask = words.length - 1;
+		int hash = word.hashCode();
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while (words[slot] != null && !words[slot].equals(word))
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private void grow() {
+		String[] oldWords = words;
+		int[] oldCounts = counts;
+		int[] oldLastSeen = lastSeen;
+		words = new String[oldWords.length * 2];
+		counts = new int[words.length];
+		lastSeen = new int[words.length];
+		for (int i = 0; i < oldWords.length; i++)
+			if (oldWords[i] != null) {
+				int slot = findSlot(oldWords[i]);
+				words[slot] = oldWords[i];
+				counts[slot] = oldCounts[i];
+				lastSeen[slot] = oldLastSeen[i];
+			}
+	}
+}
@@ -0,0 +1,88 @@
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.select.Elements;
+
+/**
+ * DumpArticleSource
+ * Produces the articles of a local Wikimedia Enterprise HTML dump,
+ * taking records from the shared {@link DumpReader} and parsing
+ * their JSON and HTML on the calling thread, so parsing runs on all
+ * worker threads while a single thread decompresses.
+ *
+ * Dump articles are Parsoid HTML rather than the rendered skin
+ * page: the title comes from the record's name, headings are the
+ * h2 to h6 elements and words are the text of p and ul elements,
+ * the same text the live page has in #mw-content-text.
+ *
+ * @since October 2026
+ */
+class DumpArticleSource implements ArticleSource {
+
+	private DumpReader dumpReader;
+
+	/**
+	 * Constructor with the {@link DumpReader} shared by all threads.
+	 * @param dumpReader The reader of the dump.
+	 */
+	public DumpArticleSource(DumpReader dumpReader) {
+		this.dumpReader = dumpReader;
+	}
+
+	public WikipediaPage nextPage() {
+		String record = dumpReader.take();
+		return record == null ? null : parseRecord(record);
+	}
+
+	public boolean hasNext() {
+		return !dumpReader.isExhausted();
+	}
+
+	/**
+	 * Parses a record of the dump, an object with the title as
+	 * "name" and the HTML as "article_body": {"html": ...}.
+	 * @param  record The JSON of the record.
+	 * @return        The article, invalid if the record is malformed
+	 *                or has no HTML.
+	 */
+	static WikipediaPage parseRecord(String record) {
+		String name = null, html = null;
+		JsonStreamReader reader = new JsonStreamReader(new StringReader(record));
+		try {
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String key = reader.nextName();
+				if (key.equals("name") && reader.peek() == JsonStreamReader.Token.STRING)
+					name = reader.nextString();
+				else if (key.equals("article_body") && reader.peek() == JsonStreamReader.Token.BEGIN_OBJECT) {
+					reader.beginObject();
+					while (reader.hasNext()) {
+						if (reader.nextName().equals("html") && reader.peek() == JsonStreamReader.Token.STRING)
+							html = reader.nextString();
+						else reader.skipValue();
+					}
+					reader.endObject();
+				}	else reader.skipValue();
+			}
+		}	catch (IOException e) {
+			return new WikipediaPage(null, null, (String) null);
+		}
+		if (name == null || html == null)
+			return new WikipediaPage(null, null, (String) null);
+		return parseArticle(name, html);
+	}
+
+	/**
+	 * Parses the Parsoid HTML of an article.
+	 */
+	private static WikipediaPage parseArticle(String name, String html) {
+		Document document = Jsoup.parse(html);
+		Elements headingsDOM = document.select("h2, h3, h4, h5, h6");
+		String[] headings = new String[headingsDOM.size()];
+		for (int i = 0; i < headings.length; i++)
+			headings[i] = headingsDOM.get(i).text();
+		return new WikipediaPage(name, headings, document.select("p, ul").text());
+	}
+}
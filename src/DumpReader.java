@@ -0,0 +1,136 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * DumpReader
+ * Reads a Wikimedia Enterprise HTML dump (*.ndjson.tar.gz, or a
+ * plain or gzipped *.ndjson) on a thread of its own, decompressing
+ * it and splitting it into records, one JSON object per line. The
+ * records wait in a bounded queue for the {@link DumpArticleSource}s
+ * of the worker threads, so however large the dump only a few
+ * records per thread are in memory at once.
+ *
+ * @since October 2026
+ */
+class DumpReader {
+
+	private static final int RECORDS_PER_WORKER = 4;
+
+	private String path;
+	private InputStream in;
+	private BlockingQueue<String> records;
+	private Thread  thread;
+	private volatile boolean done;
+	private volatile long recordsRead;
+
+	/**
+	 * Constructor with the dump to read and the number of threads
+	 * taking records from it. The file is opened right away.
+	 * @param  path       The path of the dump.
+	 * @param  numWorkers The number of threads taking records.
+	 * @throws IOException if the dump cannot be opened.
+	 */
+	public DumpReader(String path, int numWorkers) throws IOException {
+		this.path = path;
+		in = new BufferedInputStream(new FileInputStream(path), 1 << 16);
+		if (path.endsWith(".gz") || path.endsWith(".tgz"))
+			in = new GZIPInputStream(in, 1 << 16);
+		records = new ArrayBlockingQueue<String>(Math.max(16, RECORDS_PER_WORKER * numWorkers));
+		done = false;
+		recordsRead = 0;
+	}
+
+	/**
+	 * Starts reading on a daemon thread, so an unfinished dump does
+	 * not keep the program alive once the run time is over.
+	 */
+	public void start() {
+		thread = new Thread("Dump Reader") {
+			@Override
+			public void run() {
+				try {
+					if (path.endsWith(".tar.gz") || path.endsWith(".tgz") || path.endsWith(".tar"))
+						readArchive();
+					else readRecords(in);
+				}	catch (IOException e) {
+					System.err.printf("Failed reading dump: %s\n", e.getMessage());
+				}	catch (InterruptedException e) {
+				}	finally {
+					done = true;
+					try {
+						in.close();
+					}	catch (IOException e) {}
+				}
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Takes the next record, waiting for the reader if needed.
+	 * @return the JSON of the record, or null once the dump is exhausted.
+	 */
+	public String take() {
+		try {
+			while (true) {
+				String record = records.poll(100, TimeUnit.MILLISECONDS);
+				if (record != null)
+					return record;
+				if (done)
+					return records.poll();
+			}
+		}	catch (InterruptedException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns whether every record has been read and taken.
+	 * @return true once the dump is exhausted.
+	 */
+	public boolean isExhausted() {
+		return done && records.isEmpty();
+	}
+
+	/**
+	 * Returns the number of records read from the dump so far.
+	 * @return the number of records read.
+	 */
+	public long getRecordsRead() {
+		return recordsRead;
+	}
+
+	/**
+	 * Stops reading the dump.
+	 */
+	public void close() {
+		if (thread != null)
+			thread.interrupt();
+	}
+
+	private void readArchive() throws IOException, InterruptedException {
+		TarReader tar = new TarReader(in);
+		for (String name = tar.nextEntry(); name != null; name = tar.nextEntry())
+			if (name.endsWith(".ndjson") || name.endsWith(".json"))
+				readRecords(tar.getEntryStream());
+	}
+
+	private void readRecords(InputStream entry) throws IOException, InterruptedException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(entry, StandardCharsets.UTF_8), 1 << 16);
+		for (String line = reader.readLine(); line != null; line = reader.readLine())
+			if (!line.isEmpty()) {
+				records.put(line);
+				recordsRead++;
+			}
+	}
+}
@@ -0,0 +1,47 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * FetchEvent
+ * A Java Flight Recorder event spanning a single page fetch of
+ * {@link PageLoader}, from opening the connection to the body being
+ * read (and for the jsoup path, parsed into a Document).
+ *
+ * @since October 2026
+ */
+@Name("wikipediawords.Fetch")
+@Label("Fetch")
+@Category("WikipediaWords")
+@Description("A page fetched over HTTP")
+class FetchEvent extends Event {
+
+	@Label("URL")
+	String url;
+
+	@Label("Status")
+	@Description("HTTP status code, -1 for an I/O error")
+	int status;
+
+	@Label("Bytes")
+	@DataAmount
+	long bytes;
+
+	/**
+	 * Fills in and commits the event if it is being recorded.
+	 * @param  result The outcome of the fetch.
+	 * @return        result, so a fetch can return through this.
+	 */
+	public FetchResult finish(FetchResult result) {
+		if (shouldCommit()) {
+			url = result.getURL();
+			status = result.getStatus();
+			bytes = result.getBytes();
+			commit();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,108 @@
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import org.jsoup.nodes.Document;
+
+/**
+ * FetchResult
+ * The outcome of a single page fetch made by {@link PageLoader},
+ * keeping the HTTP status around so that throttling responses
+ * can be told apart from pages that simply failed to parse.
+ *
+ * @since October 2026
+ */
+class FetchResult {
+
+	public static final int STATUS_IO_ERROR         = -1;
+	public static final int STATUS_TOO_MANY_REQUESTS = 429;
+	public static final int STATUS_UNAVAILABLE      = 503;
+
+	private String   url;
+	private int      status;
+	private Document document;
+	private long     retryAfterMillis;
+	private long     bytes;
+	private long     durationNanos;
+
+	/**
+	 * Constructor with all the fields of a fetch.
+	 * @param url              The url that was requested.
+	 * @param status           The HTTP status code, or {@link #STATUS_IO_ERROR}.
+	 * @param document         The parsed {@link Document}, or null if the
+	 *                         body was streamed or not fetched.
+	 * @param retryAfterMillis The Retry-After delay in milliseconds, or -1 if none.
+	 * @param bytes            The number of body bytes received.
+	 * @param durationNanos    The wall time the fetch took in nanoseconds.
+	 */
+	public FetchResult(String url, int status, Document document, long retryAfterMillis, long bytes, long durationNanos) {
+		this.url = url;
+		this.status = status;
+		this.document = document;
+		this.retryAfterMillis = retryAfterMillis;
+		this.bytes = bytes;
+		this.durationNanos = durationNanos;
+	}
+
+	/**
+	 * Returns whether the page was fetched (and parsed) successfully.
+	 * Streamed fetches succeed without a {@link Document}.
+	 * @return true if the page was fetched successfully, false otherwise.
+	 */
+	public boolean isSuccess() {
+		return status >= 200 && status < 300;
+	}
+
+	/**
+	 * Returns whether the server asked us to slow down.
+	 * @return true on a 429 or 503 response, false otherwise.
+	 */
+	public boolean isThrottled() {
+		return status == STATUS_TOO_MANY_REQUESTS || status == STATUS_UNAVAILABLE;
+	}
+
+	public String getURL() {
+		return url;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public Document getDocument() {
+		return document;
+	}
+
+	public long getRetryAfterMillis() {
+		return retryAfterMillis;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	public long getDurationNanos() {
+		return durationNanos;
+	}
+
+	/**
+	 * Parses a Retry-After header, which is either a number of
+	 * seconds or an HTTP date.
+	 * @param  header The value of the Retry-After header, may be null.
+	 * @return        The delay in milliseconds, or -1 if absent or unparseable.
+	 */
+	public static long parseRetryAfter(String header) {
+		if (header == null)
+			return -1;
+		header = header.trim();
+		try {
+			return Math.max(0, Long.parseLong(header) * 1000);
+		}	catch (NumberFormatException e) {}
+		try {
+			ZonedDateTime date = ZonedDateTime.parse(header, DateTimeFormatter.RFC_1123_DATE_TIME);
+			return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+		}	catch (DateTimeParseException e) {
+			return -1;
+		}
+	}
+}
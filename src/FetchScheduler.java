@@ -0,0 +1,205 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FetchScheduler
+ * Central gate that every {@link WikipediaWordsThread} fetches
+ * pages through. Requests share a single token bucket, a
+ * throttling response (429/503) pauses all workers for the
+ * Retry-After period, and failing workers back off with
+ * jittered exponential delays instead of retrying in a tight loop.
+ *
+ * With a rate limit set, the bucket rate is adapted AIMD style:
+ * halved when the server throttles us and slowly raised back
+ * towards the configured rate on success, so the crawl settles
+ * just under the server's limit instead of oscillating around it.
+ *
+ * @since October 2026
+ */
+class FetchScheduler {
+
+	public static final long BASE_BACKOFF_MILLIS = 250;
+	public static final long MAX_BACKOFF_MILLIS  = 30000;
+	public static final long DECREASE_INTERVAL_NANOS = 1000000000L;
+
+	private final double maxRate;
+	private double rate;
+	private double tokens;
+	private long   lastRefill;
+	private long   pausedUntil;
+	private long   lastDecrease;
+
+	private AtomicInteger throttledCount;
+	private AtomicInteger errorCount;
+	private AtomicLong    bytesFetched;
+	private LatencyHistogram latencies;
+
+	/**
+	 * Constructor with the maximum number of requests per second
+	 * shared between all workers.
+	 * @param maxRate The maximum requests per second, or a value
+	 *                {@code <= 0} to not limit the rate.
+	 */
+	public FetchScheduler(double maxRate) {
+		this.maxRate = maxRate;
+		rate = maxRate;
+		tokens = Math.max(1, maxRate);
+		lastRefill = System.nanoTime();
+		pausedUntil = lastDecrease = lastRefill;
+		throttledCount = new AtomicInteger();
+		errorCount = new AtomicInteger();
+		bytesFetched = new AtomicLong();
+		latencies = new LatencyHistogram();
+	}
+
+	/**
+	 * Waits for permission to send a request and then fetches
+	 * the page at path.
+	 * @param  path The string path for the page to fetch.
+	 * @return      A {@link FetchResult} describing the outcome.
+	 */
+	public FetchResult fetch(String path) {
+		acquire();
+		return record(PageLoader.fetch(path));
+	}
+
+	/**
+	 * Waits for permission to send a request and then streams
+	 * the body of the page at path to a handler.
+	 * @param  path    The string path for the page to fetch.
+	 * @param  handler The {@link PageLoader.StreamHandler} consuming the body.
+	 * @return         A {@link FetchResult} describing the outcome.
+	 */
+	public FetchResult fetch(String path, PageLoader.StreamHandler handler) {
+		acquire();
+		return record(PageLoader.fetch(path, handler));
+	}
+
+	/**
+	 * Updates the shared throttling state with the outcome of a fetch.
+	 * @param  result The {@link FetchResult} of the fetch.
+	 * @return        The same result.
+	 */
+	private FetchResult record(FetchResult result) {
+		latencies.record(result.getDurationNanos());
+		bytesFetched.addAndGet(result.getBytes());
+		if (result.isThrottled())
+			onThrottled(result.getRetryAfterMillis());
+		else if (result.isSuccess())
+			onSuccess();
+		else errorCount.incrementAndGet();
+		return result;
+	}
+
+	/**
+	 * Blocks until both the shared pause has expired and a token
+	 * is available in the bucket. A token is reserved while holding
+	 * the lock, the sleep happens outside of it.
+	 */
+	private void acquire() {
+		long waitNanos;
+		synchronized (this) {
+			long now = System.nanoTime();
+			waitNanos = Math.max(0, pausedUntil - now);
+			if (maxRate > 0) {
+				tokens = Math.min(Math.max(1, rate), tokens + (now - lastRefill) / 1E9 * rate);
+				lastRefill = now;
+				tokens--;
+				if (tokens < 0)
+					waitNanos = Math.max(waitNanos, (long) (-tokens / rate * 1E9));
+			}
+		}
+		sleepNanos(waitNanos);
+	}
+
+	/**
+	 * Records a throttling response, pausing every worker for
+	 * the requested time and lowering the request rate.
+	 * @param retryAfterMillis The Retry-After delay, or -1 if the
+	 *                         server did not send one.
+	 */
+	private synchronized void onThrottled(long retryAfterMillis) {
+		throttledCount.incrementAndGet();
+		long now = System.nanoTime();
+		long pause = retryAfterMillis >= 0 ? retryAfterMillis : BASE_BACKOFF_MILLIS;
+		pausedUntil = Math.max(pausedUntil, now + pause * 1000000);
+		if (maxRate > 0 && now - lastDecrease > DECREASE_INTERVAL_NANOS) {
+			rate = Math.max(maxRate / 64, rate / 2);
+			tokens = Math.min(tokens, 0);
+			lastDecrease = now;
+		}
+	}
+
+	/**
+	 * Records a successful fetch, slowly raising the request rate
+	 * back towards the configured maximum.
+	 */
+	private synchronized void onSuccess() {
+		if (maxRate > 0 && rate < maxRate)
+			rate = Math.min(maxRate, rate + maxRate / 100);
+	}
+
+	/**
+	 * Sleeps for a jittered exponential delay after a failed fetch
+	 * ("full jitter": uniformly random up to the exponential cap).
+	 * @param failures     The number of consecutive failures of the caller.
+	 * @param deadlineNanos A {@link System#nanoTime()} the sleep must not go past.
+	 */
+	public void backoff(int failures, long deadlineNanos) {
+		long cap = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(failures, 16));
+		long delay = ThreadLocalRandom.current().nextLong(cap + 1) * 1000000;
+		sleepNanos(Math.min(delay, deadlineNanos - System.nanoTime()));
+	}
+
+	/**
+	 * Returns the current request rate of the token bucket.
+	 * @return the requests per second, or a value {@code <= 0} if unlimited.
+	 */
+	public synchronized double getRate() {
+		return rate;
+	}
+
+	/**
+	 * Returns the number of throttling responses received.
+	 * @return the number of 429/503 responses.
+	 */
+	public int getThrottledCount() {
+		return throttledCount.get();
+	}
+
+	/**
+	 * Returns the number of other failed fetches (timeouts,
+	 * connection errors and other bad statuses).
+	 * @return the number of non-throttling failures.
+	 */
+	public int getErrorCount() {
+		return errorCount.get();
+	}
+
+	/**
+	 * Returns the number of body bytes received by all fetches.
+	 * @return the number of bytes fetched.
+	 */
+	public long getBytesFetched() {
+		return bytesFetched.get();
+	}
+
+	/**
+	 * Returns the histogram of the durations of all fetches.
+	 * @return the {@link LatencyHistogram} of fetch durations.
+	 */
+	public LatencyHistogram getLatencies() {
+		return latencies;
+	}
+
+	private static void sleepNanos(long nanos) {
+		if (nanos <= 0)
+			return;
+		try {
+			Thread.sleep(nanos / 1000000, (int) (nanos % 1000000));
+		}	catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,360 @@
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * FrequencyIndex
+ * An order-statistics index over the counts of a {@link WordList},
+ * answering rank, threshold, percentile and coverage queries without
+ * sorting the list or scanning it. Two Fenwick trees over the counts
+ * below {@link #LIMIT} hold how many words have each count and how
+ * many tokens those words make up; the few counts at or above it,
+ * the most common words of a Zipf distribution, are kept in a treap
+ * instead, whose nodes also hold the words and tokens of their
+ * subtrees, so memory does not grow with the largest count and every
+ * query stays O(log n) however many large counts there are.
+ *
+ * Every change to a word's count moves it between two buckets in
+ * O(log n), so the index stays correct while counts are still being
+ * merged in. Not thread safe.
+ *
+ * @since October 2026
+ */
+class FrequencyIndex {
+
+	public static final int LIMIT = 1 << 16;
+
+	/**
+	 * A count of at least {@link #LIMIT} in the treap of large counts,
+	 * ordered by count and heap ordered by a random priority.
+	 */
+	private static class Node {
+
+		private int  count;
+		private int  priority;
+		private long words;
+		private long subtreeWords;
+		private long subtreeTokens;
+		private Node left, right;
+
+		Node(int count) {
+			this.count = count;
+			priority = ThreadLocalRandom.current().nextInt();
+		}
+
+		void update() {
+			subtreeWords = words + (left == null ? 0 : left.subtreeWords) + (right == null ? 0 : right.subtreeWords);
+			subtreeTokens = words * count + (left == null ? 0 : left.subtreeTokens) + (right == null ? 0 : right.subtreeTokens);
+		}
+	}
+
+	private HashMap<String, Integer> counts;
+	private long[]  wordTree;
+	private long[]  tokenTree;
+	private Node    largeCounts;
+	private long    tokens;
+
+	public FrequencyIndex() {
+		clear();
+	}
+
+	/**
+	 * Adds occurrences of a word.
+	 * @param word        The word.
+	 * @param occurrences The number of occurrences to add.
+	 */
+	public void add(String word, int occurrences) {
+		if (occurrences == 0)
+			return;
+		Integer count = counts.get(word);
+		int oldCount = count == null ? 0 : count;
+		int newCount = oldCount + occurrences;
+		move(oldCount, -1);
+		move(newCount, 1);
+		if (newCount > 0)
+			counts.put(word, newCount);
+		else counts.remove(word);
+		tokens += (long) newCount - oldCount;
+	}
+
+	/**
+	 * Forgets every word.
+	 */
+	public void clear() {
+		counts = new HashMap<String, Integer>();
+		wordTree = new long[LIMIT];
+		tokenTree = new long[LIMIT];
+		largeCounts = null;
+		tokens = 0;
+	}
+
+	/**
+	 * Returns the count of a word.
+	 * @param  word The word.
+	 * @return      The number of occurrences of the word, 0 if unknown.
+	 */
+	public int getCount(String word) {
+		Integer count = counts.get(word);
+		return count == null ? 0 : count;
+	}
+
+	/**
+	 * Returns the rank of a word, 1 for the most common word, with
+	 * equally common words sharing a rank.
+	 * @param  word The word.
+	 * @return      The rank of the word, or 0 if unknown.
+	 */
+	public int getRank(String word) {
+		int count = getCount(word);
+		return count == 0 ? 0 : (int) getWordsAtLeast(count + 1) + 1;
+	}
+
+	/**
+	 * Returns the percentage of words less common than a count.
+	 * @param  count The number of occurrences.
+	 * @return       The percentile of the count, between 0 and 100.
+	 */
+	public double getPercentile(int count) {
+		return size() == 0 ? 0 : 100.0 * (size() - getWordsAtLeast(count)) / size();
+	}
+
+	/**
+	 * Returns the number of words occurring at least count times.
+	 * @param  count The number of occurrences.
+	 * @return       The number of words.
+	 */
+	public long getWordsAtLeast(int count) {
+		if (count <= 1)
+			return size();
+		if (count >= LIMIT)
+			return countLarge(count);
+		return getLargeWords() + prefix(wordTree, LIMIT - 1) - prefix(wordTree, count - 1);
+	}
+
+	/**
+	 * Returns the number of tokens made up by the numWords most
+	 * common words.
+	 * @param  numWords The number of words.
+	 * @return          The number of tokens they cover.
+	 */
+	public long getTopTokens(long numWords) {
+		if (numWords >= size())
+			return tokens;
+		if (numWords <= 0)
+			return 0;
+		if (numWords <= getLargeWords())
+			return getLargeTopTokens(numWords);
+		long wordsAbove = getLargeWords(), tokensAbove = getLargeTokens();
+		// the count of the numWords-th word is the smallest count c
+		// with more than size() - numWords words at or below it
+		long smallWords = prefix(wordTree, LIMIT - 1);
+		int count = search(wordTree, smallWords - (numWords - wordsAbove) + 1) + 1;
+		long wordsMore = smallWords - prefix(wordTree, count);
+		long tokensMore = prefix(tokenTree, LIMIT - 1) - prefix(tokenTree, count);
+		return tokensAbove + tokensMore + (numWords - wordsAbove - wordsMore) * count;
+	}
+
+	/**
+	 * Returns the percentage of all tokens the numWords most common
+	 * words make up.
+	 * @param  numWords The number of words.
+	 * @return          The coverage, between 0 and 100.
+	 */
+	public double getCoverage(long numWords) {
+		return tokens == 0 ? 0 : 100.0 * getTopTokens(numWords) / tokens;
+	}
+
+	/**
+	 * Returns the fewest words that together make up a percentage of
+	 * all tokens, taking the most common words first.
+	 * @param  percent The percentage of tokens to cover.
+	 * @return         The number of words needed.
+	 */
+	public long getWordsToCover(double percent) {
+		long target = (long) Math.ceil(tokens * Math.min(100, percent) / 100);
+		if (target <= 0)
+			return 0;
+		if (target <= getLargeTokens())
+			return getLargeWordsToCover(target);
+		long wordsAbove = getLargeWords(), tokensAbove = getLargeTokens();
+		// the words needed end at the largest count c whose words and
+		// all more common ones reach the target, i.e. the tokens of
+		// every count below c are at most all tokens minus the target
+		long smallTokens = prefix(tokenTree, LIMIT - 1);
+		int below = search(tokenTree, smallTokens - (target - tokensAbove) + 1);
+		int count = below + 1;
+		long wordsMore = prefix(wordTree, LIMIT - 1) - prefix(wordTree, count);
+		long tokensMore = smallTokens - prefix(tokenTree, count);
+		return wordsAbove + wordsMore + ceilDiv(target - tokensAbove - tokensMore, count);
+	}
+
+	/**
+	 * Returns the number of distinct words.
+	 * @return the number of words.
+	 */
+	public int size() {
+		return counts.size();
+	}
+
+	/**
+	 * Returns the number of tokens, the sum of all counts.
+	 * @return the number of tokens.
+	 */
+	public long getTokens() {
+		return tokens;
+	}
+
+	/**
+	 * Adds or removes a word from the bucket of a count.
+	 */
+	private void move(int count, int words) {
+		if (count <= 0)
+			return;
+		if (count >= LIMIT) {
+			Node[] lower = split(largeCounts, count);
+			Node[] upper = split(lower[1], count + 1);
+			Node node = upper[0] == null ? new Node(count) : upper[0];
+			node.words += words;
+			node.update();
+			largeCounts = merge(lower[0], merge(node.words == 0 ? null : node, upper[1]));
+			return;
+		}
+		for (int i = count; i < LIMIT; i += i & -i) {
+			wordTree[i] += words;
+			tokenTree[i] += (long) words * count;
+		}
+	}
+
+	private long getLargeWords() {
+		return largeCounts == null ? 0 : largeCounts.subtreeWords;
+	}
+
+	private long getLargeTokens() {
+		return largeCounts == null ? 0 : largeCounts.subtreeTokens;
+	}
+
+	/**
+	 * Returns the number of large count words occurring at least
+	 * count times.
+	 */
+	private long countLarge(int count) {
+		long sum = 0;
+		for (Node node = largeCounts; node != null;)
+			if (node.count >= count) {
+				sum += node.words + (node.right == null ? 0 : node.right.subtreeWords);
+				node = node.left;
+			}	else node = node.right;
+		return sum;
+	}
+
+	/**
+	 * Returns the tokens of the numWords most common words, at most
+	 * as many as there are large count words.
+	 */
+	private long getLargeTopTokens(long numWords) {
+		long tokensAbove = 0;
+		for (Node node = largeCounts; node != null;) {
+			long rightWords = node.right == null ? 0 : node.right.subtreeWords;
+			if (numWords <= rightWords) {
+				node = node.right;
+				continue;
+			}
+			tokensAbove += node.right == null ? 0 : node.right.subtreeTokens;
+			numWords -= rightWords;
+			if (numWords <= node.words)
+				return tokensAbove + numWords * node.count;
+			tokensAbove += node.words * node.count;
+			numWords -= node.words;
+			node = node.left;
+		}
+		return tokensAbove;
+	}
+
+	/**
+	 * Returns the fewest large count words making up target tokens,
+	 * at most as many as the large count words make up.
+	 */
+	private long getLargeWordsToCover(long target) {
+		long wordsAbove = 0;
+		for (Node node = largeCounts; node != null;) {
+			long rightTokens = node.right == null ? 0 : node.right.subtreeTokens;
+			if (target <= rightTokens) {
+				node = node.right;
+				continue;
+			}
+			wordsAbove += node.right == null ? 0 : node.right.subtreeWords;
+			target -= rightTokens;
+			if (target <= node.words * node.count)
+				return wordsAbove + ceilDiv(target, node.count);
+			wordsAbove += node.words;
+			target -= node.words * node.count;
+			node = node.left;
+		}
+		return wordsAbove;
+	}
+
+	/**
+	 * Splits a treap into the counts below count and the rest.
+	 */
+	private static Node[] split(Node node, int count) {
+		if (node == null)
+			return new Node[2];
+		Node[] halves;
+		if (node.count < count) {
+			halves = split(node.right, count);
+			node.right = halves[0];
+			halves[0] = node;
+		}	else {
+			halves = split(node.left, count);
+			node.left = halves[1];
+			halves[1] = node;
+		}
+		node.update();
+		return halves;
+	}
+
+	/**
+	 * Joins two treaps, every count of lower below those of upper.
+	 */
+	private static Node merge(Node lower, Node upper) {
+		if (lower == null)
+			return upper;
+		if (upper == null)
+			return lower;
+		if (lower.priority > upper.priority) {
+			lower.right = merge(lower.right, upper);
+			lower.update();
+			return lower;
+		}
+		upper.left = merge(lower, upper.left);
+		upper.update();
+		return upper;
+	}
+
+	/**
+	 * Returns the sum of a tree from 1 to index.
+	 */
+	private static long prefix(long[] tree, int index) {
+		long sum = 0;
+		for (int i = Math.min(index, LIMIT - 1); i > 0; i -= i & -i)
+			sum += tree[i];
+		return sum;
+	}
+
+	/**
+	 * Returns the largest index whose prefix sum is below limit,
+	 * walking down the tree in O(log n).
+	 */
+	private static int search(long[] tree, long limit) {
+		int index = 0;
+		for (int step = Integer.highestOneBit(LIMIT - 1); step > 0; step >>= 1)
+			if (index + step < LIMIT && tree[index + step] < limit) {
+				index += step;
+				limit -= tree[index];
+			}
+		return index;
+	}
+
+	private static long ceilDiv(long dividend, long divisor) {
+		return (dividend + divisor - 1) / divisor;
+	}
+}
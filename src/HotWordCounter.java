@@ -0,0 +1,82 @@
+/**
+ * HotWordCounter
+ * The counts of a single thread for the words of a {@link HotWordTable}.
+ * Hot words are counted in a plain int[] by their table slot, and only
+ * the remaining, cold words go on to the {@link WordList}, so the few
+ * hundred words making up half of all tokens skip the sorted insert.
+ * The counts are folded into the list before it is saved.
+ *
+ * Not thread safe, every thread keeps its own counter.
+ *
+ * @since October 2026
+ */
+class HotWordCounter {
+
+	private HotWordTable table;
+	private int[]    counts;
+	private String[] coldWords;
+	private long     hotTokens;
+	private long     tokens;
+
+	/**
+	 * Constructor with the shared table of hot words.
+	 * @param table The {@link HotWordTable} to count the words of.
+	 */
+	public HotWordCounter(HotWordTable table) {
+		this.table = table;
+		counts = new int[table.size()];
+		coldWords = new String[1 << 10];
+		hotTokens = tokens = 0;
+	}
+
+	/**
+	 * Counts the hot words of an article.
+	 * @param  words The words of the article.
+	 * @return       The cold words, left to count elsewhere.
+	 */
+	public String[] count(String[] words) {
+		if (coldWords.length < words.length)
+			coldWords = new String[Math.max(words.length, coldWords.length * 2)];
+		int numCold = 0;
+		for (String word : words) {
+			int slot = table.indexOf(word);
+			if (slot >= 0)
+				counts[slot]++;
+			else coldWords[numCold++] = word;
+		}
+		tokens += words.length;
+		hotTokens += words.length - numCold;
+		String[] cold = new String[numCold];
+		System.arraycopy(coldWords, 0, cold, 0, numCold);
+		return cold;
+	}
+
+	/**
+	 * Adds the counts to a list and starts them over from 0.
+	 * @param wordList The {@link WordList} to add the counts to.
+	 */
+	public void foldInto(WordList wordList) {
+		int startIndex = 0;
+		for (int slot : table.getSortedSlots())
+			if (counts[slot] > 0) {
+				startIndex = wordList.addWord(new WordHistogram(table.getWord(slot), counts[slot]), startIndex);
+				counts[slot] = 0;
+			}
+	}
+
+	/**
+	 * Returns the number of tokens counted as hot words.
+	 * @return the number of hot tokens.
+	 */
+	public long getHotTokens() {
+		return hotTokens;
+	}
+
+	/**
+	 * Returns the number of tokens looked up.
+	 * @return the number of tokens.
+	 */
+	public long getTokens() {
+		return tokens;
+	}
+}
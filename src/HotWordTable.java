@@ -0,0 +1,208 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+
+/**
+ * HotWordTable
+ * A minimal perfect hash table (CHD, compress hash and displace) of
+ * the most frequent words, which under Zipf's law make up about half
+ * of all tokens. Every word maps to its own slot of 0 to size() - 1
+ * with a hash, one seed lookup and one string comparison, so counting
+ * it is an increment of a plain int[] in a {@link HotWordCounter}
+ * instead of a sorted insert into a {@link WordList}.
+ *
+ * The table never changes once built and is shared by all threads.
+ *
+ * @since October 2026
+ */
+class HotWordTable {
+
+	/** The most frequent words of English Wikipedia, most frequent first. */
+	public static final String[] BUILT_IN = {
+		"the", "of", "and", "in", "a", "to", "was", "is", "for", "as", "on", "by", "with",
+		"he", "that", "at", "from", "his", "it", "an", "were", "are", "which", "this", "also",
+		"be", "or", "has", "had", "first", "one", "their", "its", "after", "new", "who",
+		"they", "two", "her", "she", "been", "other", "when", "time", "during", "there",
+		"into", "school", "more", "may", "years", "over", "only", "year", "most", "would",
+		"world", "city", "some", "where", "between", "later", "three", "state", "such", "then",
+		"national", "used", "made", "known", "under", "many", "university", "united", "while",
+		"part", "season", "team", "these", "american", "than", "film", "second", "born",
+		"south", "became", "states", "war", "through", "being", "including", "both", "before",
+		"north", "high", "however", "people", "family", "all", "not", "but", "played",
+		"history", "until", "him", "series", "county", "music", "since", "name", "early",
+		"four", "following", "government", "de", "album", "each", "against", "end", "area",
+		"club", "number", "life", "work", "i", "well", "won", "john", "game", "league", "out",
+		"released", "members", "up", "house", "day", "several", "around", "back", "same",
+		"west", "east", "line", "group", "called", "based", "did", "about", "age", "because",
+		"building", "can", "center", "century", "church", "company", "could", "death", "died",
+		"district", "five", "football", "form", "founded", "general", "great", "home",
+		"included", "international", "king", "large", "last", "left", "local", "long", "main",
+		"major", "member", "no", "now", "old", "own", "period", "place", "player",
+		"population", "public", "record", "river", "role", "royal", "served", "service",
+		"show", "so", "st", "station", "still", "took", "town", "village", "what", "will",
+		"within", "women", "york", "you"
+	};
+
+	private static final int  BUCKET_SIZE = 2;
+	private static final int  MAX_SEEDS   = 1 << 20;
+
+	private String[] words;
+	private int[]    seeds;
+	private int[]    sortedSlots;
+
+	/**
+	 * Builds the table. Repeated words are dropped, and so are words
+	 * whose String hash equals an earlier word's, which no seed could
+	 * tell apart; they are then counted like any other word.
+	 * @param hotWords The words to put in the table.
+	 */
+	public HotWordTable(String[] hotWords) {
+		ArrayList<String> keys = new ArrayList<String>();
+		HashSet<Integer> hashes = new HashSet<Integer>();
+		for (String word : new LinkedHashSet<String>(Arrays.asList(hotWords)))
+			if (hashes.add(word.hashCode()))
+				keys.add(word);
+		words = new String[keys.size()];
+		seeds = new int[Math.max(1, (keys.size() + BUCKET_SIZE - 1) / BUCKET_SIZE)];
+		build(keys);
+		sortedSlots = new int[words.length];
+		Integer[] slots = new Integer[words.length];
+		for (int i = 0; i < slots.length; i++)
+			slots[i] = i;
+		Arrays.sort(slots, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer slot1, Integer slot2) {
+				return words[slot1].compareTo(words[slot2]);
+			}
+		});
+		for (int i = 0; i < slots.length; i++)
+			sortedSlots[i] = slots[i];
+	}
+
+	/**
+	 * Finds the slot of a word.
+	 * @param  word The word.
+	 * @return      The slot of the word, or -1 if it is not a hot word.
+	 */
+	public int indexOf(String word) {
+		if (words.length == 0)
+			return -1;
+		long hash = mix(word.hashCode());
+		int seed = seeds[bucket(hash)];
+		int slot = seed < 0 ? -seed - 1 : slot(hash, seed);
+		return words[slot].equals(word) ? slot : -1;
+	}
+
+	/**
+	 * Returns the word in a slot.
+	 * @param  slot The slot.
+	 * @return      The word.
+	 */
+	public String getWord(int slot) {
+		return words[slot];
+	}
+
+	/**
+	 * Returns the slots in the alphabetical order of their words.
+	 * @return the sorted slots, not to be changed.
+	 */
+	public int[] getSortedSlots() {
+		return sortedSlots;
+	}
+
+	/**
+	 * Returns the number of words in the table.
+	 * @return the number of hot words.
+	 */
+	public int size() {
+		return words.length;
+	}
+
+	/**
+	 * Places the keys: buckets of more than one key, largest first,
+	 * each search for a seed sending all their keys to free slots;
+	 * single keys then take the remaining free slots directly, stored
+	 * as a negative seed.
+	 */
+	private void build(ArrayList<String> keys) {
+		final ArrayList<ArrayList<Integer>> buckets = new ArrayList<ArrayList<Integer>>();
+		for (int i = 0; i < seeds.length; i++)
+			buckets.add(new ArrayList<Integer>());
+		long[] hashes = new long[keys.size()];
+		for (int i = 0; i < hashes.length; i++) {
+			hashes[i] = mix(keys.get(i).hashCode());
+			buckets.get(bucket(hashes[i])).add(i);
+		}
+		Integer[] order = new Integer[buckets.size()];
+		for (int i = 0; i < order.length; i++)
+			order[i] = i;
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer bucket1, Integer bucket2) {
+				return buckets.get(bucket2).size() - buckets.get(bucket1).size();
+			}
+		});
+		boolean[] taken = new boolean[words.length];
+		int[] slots = new int[BUCKET_SIZE * 8];
+		int freeSlot = 0;
+		for (int bucket : order) {
+			ArrayList<Integer> members = buckets.get(bucket);
+			if (members.size() == 1) {
+				while (taken[freeSlot])
+					freeSlot++;
+				taken[freeSlot] = true;
+				words[freeSlot] = keys.get(members.get(0));
+				seeds[bucket] = -freeSlot - 1;
+			}	else if (members.size() > 1)
+				seeds[bucket] = place(members, keys, hashes, taken, slots);
+		}
+	}
+
+	/**
+	 * Finds a seed sending every key of a bucket to a different free
+	 * slot and takes the slots.
+	 */
+	private int place(ArrayList<Integer> members, ArrayList<String> keys, long[] hashes, boolean[] taken, int[] slots) {
+		if (slots.length < members.size())
+			slots = new int[members.size()];
+		for (int seed = 0; seed < MAX_SEEDS; seed++) {
+			boolean fits = true;
+			for (int i = 0; i < members.size() && fits; i++) {
+				slots[i] = slot(hashes[members.get(i)], seed);
+				fits = !taken[slots[i]];
+				for (int j = 0; j < i && fits; j++)
+					fits = slots[j] != slots[i];
+			}
+			if (!fits)
+				continue;
+			for (int i = 0; i < members.size(); i++) {
+				taken[slots[i]] = true;
+				words[slots[i]] = keys.get(members.get(i));
+			}
+			return seed;
+		}
+		throw new IllegalStateException("No perfect hash seed found for " + members.size() + " hot words");
+	}
+
+	private int bucket(long hash) {
+		return (int) (((hash >>> 32) * seeds.length) >>> 32);
+	}
+
+	private int slot(long hash, int seed) {
+		return (int) (((mix(hash ^ (seed * 0x9e3779b97f4a7c15L)) & 0xFFFFFFFFL) * words.length) >>> 32);
+	}
+
+	/**
+	 * The finalizer of MurmurHash3, spreading every bit of the input
+	 * over the whole output.
+	 */
+	private static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		return hash ^ (hash >>> 33);
+	}
+}
@@ -0,0 +1,298 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * JsonStreamReader
+ * A small pull parser reading JSON tokens one at a time from
+ * a {@link Reader}, so large responses can be walked without
+ * building a tree of the whole document in memory.
+ *
+ * @since October 2026
+ */
+class JsonStreamReader implements Closeable {
+
+	public enum Token {
+		BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY,
+		NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+	}
+
+	private static final int MAX_DEPTH = 256;
+
+	private Reader  reader;
+	private char[]  buffer;
+	private int     pos, limit;
+	private boolean[] objectScope;
+	private boolean[] expectName;
+	private int     depth;
+	private Token   peeked;
+
+	/**
+	 * Constructor with the {@link Reader} to read JSON from.
+	 * @param reader The reader containing a JSON document.
+	 */
+	public JsonStreamReader(Reader reader) {
+		this.reader = reader;
+		buffer = new char[8192];
+		pos = limit = 0;
+		objectScope = new boolean[MAX_DEPTH];
+		expectName = new boolean[MAX_DEPTH];
+		depth = 0;
+		peeked = null;
+	}
+
+	/**
+	 * Returns the type of the next token without consuming it.
+	 * @return the next {@link Token}.
+	 * @throws IOException if reading fails or the JSON is malformed.
+	 */
+	public Token peek() throws IOException {
+		if (peeked != null)
+			return peeked;
+		int c = nextNonSeparator();
+		switch (c) {
+			case -1:  peeked = Token.END_DOCUMENT; break;
+			case '{': peeked = Token.BEGIN_OBJECT; break;
+			case '}': peeked = Token.END_OBJECT; break;
+			case '[': peeked = Token.BEGIN_ARRAY; break;
+			case ']': peeked = Token.END_ARRAY; break;
+			case '"': peeked = depth > 0 && objectScope[depth - 1] && expectName[depth - 1] ? Token.NAME : Token.STRING; break;
+			case 't':
+			case 'f': peeked = Token.BOOLEAN; break;
+			case 'n': peeked = Token.NULL; break;
+			default:
+				if (c == '-' || (c >= '0' && c <= '9'))
+					peeked = Token.NUMBER;
+				else throw syntaxError("Unexpected character '" + (char) c + "'");
+		}
+		return peeked;
+	}
+
+	/**
+	 * Returns whether the current object or array has more elements.
+	 * @return true if another element follows, false otherwise.
+	 * @throws IOException if reading fails or the JSON is malformed.
+	 */
+	public boolean hasNext() throws IOException {
+		Token token = peek();
+		return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+	}
+
+	public void beginObject() throws IOException {
+		expect(Token.BEGIN_OBJECT);
+		push(true);
+	}
+
+	public void endObject() throws IOException {
+		expect(Token.END_OBJECT);
+		pop();
+	}
+
+	public void beginArray() throws IOException {
+		expect(Token.BEGIN_ARRAY);
+		push(false);
+	}
+
+	public void endArray() throws IOException {
+		expect(Token.END_ARRAY);
+		pop();
+	}
+
+	/**
+	 * Consumes the next property name of the current object.
+	 * @return the property name.
+	 * @throws IOException if reading fails or the next token is not a name.
+	 */
+	public String nextName() throws IOException {
+		expect(Token.NAME);
+		String name = readString();
+		expectName[depth - 1] = false;
+		return name;
+	}
+
+	/**
+	 * Consumes the next string value. Numbers and booleans are
+	 * returned as their literal text.
+	 * @return the string value.
+	 * @throws IOException if reading fails or the next token is not a scalar.
+	 */
+	public String nextString() throws IOException {
+		Token token = peek();
+		String value;
+		if (token == Token.STRING) {
+			peeked = null;
+			pos++;
+			value = readString();
+		}	else if (token == Token.NUMBER || token == Token.BOOLEAN) {
+			peeked = null;
+			value = readLiteral();
+		}	else throw syntaxError("Expected a string but was " + token);
+		valueConsumed();
+		return value;
+	}
+
+	public int nextInt() throws IOException {
+		try {
+			return Integer.parseInt(nextString());
+		}	catch (NumberFormatException e) {
+			throw syntaxError("Expected an int");
+		}
+	}
+
+	public boolean nextBoolean() throws IOException {
+		if (peek() != Token.BOOLEAN)
+			throw syntaxError("Expected a boolean but was " + peeked);
+		return Boolean.parseBoolean(nextString());
+	}
+
+	public void nextNull() throws IOException {
+		if (peek() != Token.NULL)
+			throw syntaxError("Expected null but was " + peeked);
+		peeked = null;
+		readLiteral();
+		valueConsumed();
+	}
+
+	/**
+	 * Skips the next value, including any nested objects or arrays.
+	 * @throws IOException if reading fails or the JSON is malformed.
+	 */
+	public void skipValue() throws IOException {
+		int startDepth = depth;
+		do {
+			switch (peek()) {
+				case BEGIN_OBJECT: beginObject(); break;
+				case BEGIN_ARRAY:  beginArray(); break;
+				case END_OBJECT:   endObject(); break;
+				case END_ARRAY:    endArray(); break;
+				case NAME:         nextName(); break;
+				case NULL:         nextNull(); break;
+				case END_DOCUMENT: throw syntaxError("Unexpected end of document");
+				default:           nextString();
+			}
+		}	while (depth > startDepth);
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private void expect(Token token) throws IOException {
+		if (peek() != token)
+			throw syntaxError("Expected " + token + " but was " + peeked);
+		peeked = null;
+		pos++;
+	}
+
+	private void push(boolean object) throws IOException {
+		if (depth == MAX_DEPTH)
+			throw syntaxError("Nesting too deep");
+		objectScope[depth] = object;
+		expectName[depth] = true;
+		depth++;
+	}
+
+	private void pop() {
+		depth--;
+		valueConsumed();
+	}
+
+	private void valueConsumed() {
+		if (depth > 0 && objectScope[depth - 1])
+			expectName[depth - 1] = true;
+	}
+
+	/**
+	 * Skips whitespace, commas and colons, leaving pos at the
+	 * next meaningful character.
+	 * @return the next meaningful character, or -1 at the end.
+	 */
+	private int nextNonSeparator() throws IOException {
+		while (true) {
+			if (pos == limit && !fill())
+				return -1;
+			char c = buffer[pos];
+			if (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == ',' || c == ':')
+				pos++;
+			else return c;
+		}
+	}
+
+	private boolean fill() throws IOException {
+		pos = 0;
+		limit = reader.read(buffer, 0, buffer.length);
+		if (limit < 0) {
+			limit = 0;
+			return false;
+		}
+		return true;
+	}
+
+	private int read() throws IOException {
+		if (pos == limit && !fill())
+			return -1;
+		return buffer[pos++];
+	}
+
+	/**
+	 * Reads a string whose opening quote was already consumed.
+	 */
+	private String readString() throws IOException {
+		StringBuilder builder = new StringBuilder();
+		while (true) {
+			int start = pos;
+			while (pos < limit && buffer[pos] != '"' && buffer[pos] != '\\')
+				pos++;
+			builder.append(buffer, start, pos - start);
+			if (pos == limit) {
+				if (!fill())
+					throw syntaxError("Unterminated string");
+				continue;
+			}
+			if (buffer[pos++] == '"')
+				return builder.toString();
+			builder.append(readEscape());
+		}
+	}
+
+	private char readEscape() throws IOException {
+		int c = read();
+		switch (c) {
+			case 'n': return '\n';
+			case 't': return '\t';
+			case 'r': return '\r';
+			case 'b': return '\b';
+			case 'f': return '\f';
+			case 'u':
+				int value = 0;
+				for (int i = 0; i < 4; i++) {
+					int digit = Character.digit(read(), 16);
+					if (digit < 0)
+						throw syntaxError("Malformed unicode escape");
+					value = (value << 4) | digit;
+				}
+				return (char) value;
+			case -1: throw syntaxError("Unterminated escape");
+			default: return (char) c;
+		}
+	}
+
+	private String readLiteral() throws IOException {
+		StringBuilder builder = new StringBuilder();
+		while (true) {
+			if (pos == limit && !fill())
+				break;
+			char c = buffer[pos];
+			if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == ':')
+				break;
+			builder.append(c);
+			pos++;
+		}
+		return builder.toString();
+	}
+
+	private IOException syntaxError(String message) {
+		return new IOException("Malformed JSON: " + message);
+	}
+}
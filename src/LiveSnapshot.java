@@ -0,0 +1,270 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * LiveSnapshot
+ * Point-in-time totals of the words, headings and title words of a
+ * run that is still going, taken without pausing the threads. Each
+ * snapshot drains every thread's {@link SnapshotBuffer} and folds the
+ * new articles into running totals, so its cost is the articles parsed
+ * since the last snapshot plus finding the top words. The full totals
+ * are only written out when asked for from the console and once the
+ * run ends, so a snapshot every few seconds does not rewrite the whole
+ * vocabulary. The buffers are folded into the totals every
+ * {@link #FOLD_MILLIS} between snapshots as well, so they never hold
+ * more than about a second of articles, however rarely snapshots are
+ * taken.
+ *
+ * Every thread's buffer is cut between two of its articles; the
+ * threads share nothing, so together the cuts are a consistent state
+ * of the run.
+ *
+ * With a memory budget the totals keep at most their share of it,
+ * dropping the rarest half of the words whenever they are full, so
+ * the top words stay right while the full totals become approximate.
+ * Without one they are a second full copy of the vocabulary.
+ *
+ * @since October 2026
+ */
+class LiveSnapshot {
+
+	public static final String RESULTS_PATH = "results/snapshot.txt";
+	public static final String SUMMARY_PATH = "results/snapshot-results.txt";
+	public static final long   FOLD_MILLIS  = 1000;
+
+	private SnapshotBuffer[] buffers;
+	private HashMap<String, WordHistogram>[] totals;
+	private long   articles;
+	private int    snapshots;
+	private int    maxWords;
+	private boolean pruned;
+	private long   startTime;
+	private Timer  timer;
+	private Thread console;
+
+	/**
+	 * Constructor with the number of threads to take snapshots of.
+	 * @param numThreads The number of threads.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public LiveSnapshot(int numThreads) {
+		buffers = new SnapshotBuffer[numThreads];
+		for (int i = 0; i < buffers.length; i++)
+			buffers[i] = new SnapshotBuffer();
+		totals = new HashMap[3];
+		for (int i = 0; i < totals.length; i++)
+			totals[i] = new HashMap<String, WordHistogram>();
+		articles = 0;
+		snapshots = 0;
+		maxWords = 0;
+		pruned = false;
+		startTime = System.nanoTime();
+	}
+
+	/**
+	 * Returns the buffer a single thread adds its articles to.
+	 * @param  threadNum The number of the thread.
+	 * @return           The thread's {@link SnapshotBuffer}.
+	 */
+	public SnapshotBuffer getBuffer(int threadNum) {
+		return buffers[threadNum];
+	}
+
+	/**
+	 * Bounds the distinct words the totals keep.
+	 * @param memoryBudget The most words kept over all totals, or 0
+	 *                     for no limit.
+	 */
+	public void setMemoryBudget(int memoryBudget) {
+		maxWords = memoryBudget > 0 ? Math.max(2, memoryBudget / totals.length) : 0;
+	}
+
+	/**
+	 * Starts taking snapshots every intervalSeconds, and whenever a
+	 * line is entered on the console, which also saves the full totals.
+	 * @param intervalSeconds The seconds between snapshots, or 0 to
+	 *                        only take them from the console.
+	 */
+	public void start(double intervalSeconds) {
+		startTime = System.nanoTime();
+		timer = new Timer("Snapshot Timer", true);
+		timer.scheduleAtFixedRate(new TimerTask() {
+			@Override
+			public void run() {
+				fold();
+			}
+		}, FOLD_MILLIS, FOLD_MILLIS);
+		if (intervalSeconds > 0) {
+			final long interval = Math.max(1, (long) (intervalSeconds * 1000));
+			timer.scheduleAtFixedRate(new TimerTask() {
+				@Override
+				public void run() {
+					takeSnapshot(false);
+				}
+			}, interval, interval);
+		}
+		console = new Thread("Snapshot Console") {
+			@Override
+			public void run() {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+				try {
+					while (reader.readLine() != null) {
+						takeSnapshot(true);
+						System.out.printf("\nSnapshot of %,d articles saved to %s and %s\n", getArticles(), SUMMARY_PATH, RESULTS_PATH);
+					}
+				}	catch (IOException e) {}
+			}
+		};
+		console.setDaemon(true);
+		console.start();
+	}
+
+	/**
+	 * Stops taking snapshots, taking a last, full one of the whole run.
+	 */
+	public void stop() {
+		if (timer != null)
+			timer.cancel();
+		takeSnapshot(true);
+	}
+
+	/**
+	 * Folds the articles added since the last call into the totals,
+	 * emptying the buffers.
+	 */
+	public synchronized void fold() {
+		for (SnapshotBuffer buffer : buffers) {
+			ArrayList<String[][]> drained = buffer.drain();
+			for (String[][] article : drained)
+				for (int i = 0; i < totals.length; i++) {
+					for (String word : article[i])
+						add(totals[i], word);
+					if (maxWords > 0 && totals[i].size() > maxWords)
+						prune(totals[i]);
+				}
+			articles += drained.size();
+			drained.clear();
+		}
+	}
+
+	/**
+	 * Takes a snapshot, writing the top words to {@link #SUMMARY_PATH}.
+	 * @param full Whether to also write the full totals as a result
+	 *             file to {@link #RESULTS_PATH}.
+	 */
+	public synchronized void takeSnapshot(boolean full) {
+		PhaseEvent event = new PhaseEvent("snapshot");
+		event.begin();
+		fold();
+		snapshots++;
+		if (full)
+			saveResults();
+		saveSummary();
+		event.commit();
+	}
+
+	/**
+	 * Returns the number of articles in the last snapshot.
+	 * @return the number of articles.
+	 */
+	public synchronized long getArticles() {
+		return articles;
+	}
+
+	/**
+	 * Returns the number of snapshots taken.
+	 * @return the number of snapshots.
+	 */
+	public synchronized int getSnapshots() {
+		return snapshots;
+	}
+
+	private static void add(HashMap<String, WordHistogram> total, String word) {
+		WordHistogram wordHistogram = total.get(word);
+		if (wordHistogram == null)
+			total.put(word, new WordHistogram(word));
+		else wordHistogram.incrementOccurences(1);
+	}
+
+	/**
+	 * Drops the rarest words of a total until at most half of
+	 * maxWords are left.
+	 */
+	private void prune(HashMap<String, WordHistogram> total) {
+		int[] counts = new int[total.size()];
+		int i = 0;
+		for (WordHistogram word : total.values())
+			counts[i++] = word.getOccurrences();
+		Arrays.sort(counts);
+		int cut = counts[counts.length - maxWords / 2 - 1];
+		for (Iterator<WordHistogram> words = total.values().iterator(); words.hasNext();)
+			if (words.next().getOccurrences() <= cut)
+				words.remove();
+		pruned = true;
+	}
+
+	/**
+	 * Writes the totals as a result file, each section sorted
+	 * alphabetically, written to a temporary file first so readers
+	 * never see half a snapshot.
+	 */
+	private void saveResults() {
+		String tempPath = RESULTS_PATH + ".tmp";
+		BufferedWriter bufferedWriter = OpenFile.openFileToWriter(tempPath);
+		if (bufferedWriter == null)
+			return;
+		try {
+			for (HashMap<String, WordHistogram> total : totals) {
+				WordHistogram[] words = total.values().toArray(new WordHistogram[total.size()]);
+				Arrays.sort(words);
+				bufferedWriter.write(words.length + "\n");
+				for (WordHistogram word : words)
+					bufferedWriter.write(word.getWord() + "\n" + word.getOccurrences() + "\n");
+			}
+			bufferedWriter.close();
+			OpenFile.replaceFileAtomically(tempPath, RESULTS_PATH);
+		}	catch (IOException e) {
+			System.err.printf("Failed saving snapshot: %s\n", e.getMessage());
+		}
+	}
+
+	private void saveSummary() {
+		OpenFile.writeToFile(SUMMARY_PATH, String.format("Snapshot of %,d articles after %,.1f seconds%s:\n\nTop 25 words:\n%s\nTop 25 headings:\n%s\nTop 25 title words:\n%s",
+			articles, (System.nanoTime() - startTime) / 1E9, pruned ? ", rarest words dropped to fit the memory budget" : "", toString(totals[0], 25), toString(totals[1], 25), toString(totals[2], 25)));
+	}
+
+	/**
+	 * Prints the numWords most common words of a total.
+	 */
+	private static String toString(HashMap<String, WordHistogram> total, int numWords) {
+		Comparator<WordHistogram> byOccurrences = new Comparator<WordHistogram>() {
+			@Override
+			public int compare(WordHistogram word1, WordHistogram word2) {
+				return Integer.compare(word1.getOccurrences(), word2.getOccurrences());
+			}
+		};
+		PriorityQueue<WordHistogram> top = new PriorityQueue<WordHistogram>(numWords + 1, byOccurrences);
+		for (WordHistogram word : total.values())
+			if (top.size() < numWords || top.peek().getOccurrences() < word.getOccurrences()) {
+				top.add(word);
+				if (top.size() > numWords)
+					top.poll();
+			}
+		WordHistogram[] words = top.toArray(new WordHistogram[top.size()]);
+		Arrays.sort(words, byOccurrences.reversed());
+		String output = "";
+		for (WordHistogram word : words)
+			output += word + "\n";
+		return output;
+	}
+}
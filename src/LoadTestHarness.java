@@ -0,0 +1,109 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * LoadTestHarness
+ * Runs {@link WikipediaWordsRunner} against a local
+ * {@link MockWikipediaServer} for every combination of article
+ * source and thread count, and writes the throughput and fetch
+ * latency of each run to a CSV report. The throughput is taken over
+ * the parse phase only, without writing and merging the results.
+ * Replaces tuning the thread count by hand against the live site.
+ *
+ * Requests are counted at the server, redirects included, and the
+ * api source fails the test when it needs more than
+ * {@link #MAX_API_REQUESTS_PER_ARTICLE}, a tenth of the random
+ * source's redirect and page per article.
+ *
+ * @since October 2026
+ */
+class LoadTestHarness {
+
+	public static final String REPORT_PATH = "results/load-test.csv";
+	public static final String MODE_BYTES  = "bytes";
+	public static final double MAX_API_REQUESTS_PER_ARTICLE = 0.2;
+
+	private MockWikipediaServer server;
+	private String[] sources;
+	private int[]    threadCounts;
+	private double   runTime;
+	private boolean  passed;
+
+	/**
+	 * Constructor with the server to test against and the runs to make.
+	 * @param server       The {@link MockWikipediaServer} to fetch from.
+	 * @param sources      The article sources to sweep, or {@link #MODE_BYTES}
+	 *                     for the random source with the byte tokenizer.
+	 * @param threadCounts The thread counts to sweep.
+	 * @param runTime      The run time in seconds of every run.
+	 */
+	public LoadTestHarness(MockWikipediaServer server, String[] sources, int[] threadCounts, double runTime) {
+		this.server = server;
+		this.sources = sources;
+		this.threadCounts = threadCounts;
+		this.runTime = runTime;
+	}
+
+	/**
+	 * Runs every combination of source and thread count, one after
+	 * another, appending a line per run to the report.
+	 * @return false if a run of the api source needed too many
+	 *         requests per article, true otherwise.
+	 * @throws IOException          if the report cannot be written.
+	 * @throws InterruptedException if interrupted while waiting for a run.
+	 */
+	public boolean run() throws IOException, InterruptedException {
+		passed = true;
+		BufferedWriter report = OpenFile.openFileToWriter(REPORT_PATH);
+		if (report == null)
+			throw new IOException("Cannot write " + REPORT_PATH);
+		try {
+			report.write("source,threads,run_time_s,parse_time_s,articles,articles_per_s,invalid,failed,throttled,errors,"
+				+ "requests_per_article,bytes_per_article,latency_p50_ms,latency_p90_ms,latency_p99_ms,latency_max_ms\n");
+			for (String source : sources)
+				for (int numThreads : threadCounts) {
+					report.write(runOnce(source, numThreads));
+					report.flush();
+				}
+		}	finally {
+			report.close();
+		}
+		System.out.printf("Load test report written to %s\n", REPORT_PATH);
+		return passed;
+	}
+
+	/**
+	 * Makes a single run against the server.
+	 * @param  source     The article source to use.
+	 * @param  numThreads The number of threads to use.
+	 * @return            The CSV line describing the run.
+	 */
+	private String runOnce(String source, int numThreads) throws InterruptedException {
+		System.out.printf("\n=== %s source, %d threads ===\n", source, numThreads);
+		WikipediaWordsRunner runner = new WikipediaWordsRunner(runTime, numThreads, false, false);
+		if (source.equals(MODE_BYTES)) {
+			runner.setSource(WikipediaWordsRunner.SOURCE_RANDOM);
+			runner.setByteTokenizer(true);
+		}	else runner.setSource(source);
+		runner.setRandomArticleURL(server.getRandomArticleURL());
+		runner.setApiURL(server.getApiURL());
+		long requests = server.getRequestCount();
+		runner.run();
+		runner.waitForCompletion();
+		requests = server.getRequestCount() - requests;
+		FetchScheduler fetchScheduler = runner.getFetchScheduler();
+		LatencyHistogram latencies = fetchScheduler.getLatencies();
+		int articles = runner.getArticlesParsed();
+		double requestsPerArticle = articles == 0 ? requests : (double) requests / articles;
+		if (source.equals(WikipediaWordsRunner.SOURCE_API) && requestsPerArticle > MAX_API_REQUESTS_PER_ARTICLE) {
+			System.err.printf("The api source made %.2f requests per article, more than %.2f!!!\n", requestsPerArticle, MAX_API_REQUESTS_PER_ARTICLE);
+			passed = false;
+		}
+		return String.format(Locale.ROOT, "%s,%d,%.2f,%.2f,%d,%.2f,%d,%d,%d,%d,%.3f,%.0f,%.2f,%.2f,%.2f,%.2f\n",
+			source, numThreads, runner.getElapsedTime(), runner.getParseTime(), articles, articles / runner.getParseTime(),
+			runner.getInvalidArticles(), runner.getFetchFailures(), fetchScheduler.getThrottledCount(), fetchScheduler.getErrorCount(),
+			requestsPerArticle, articles == 0 ? 0.0 : (double) fetchScheduler.getBytesFetched() / articles,
+			latencies.getPercentile(0.5), latencies.getPercentile(0.9), latencies.getPercentile(0.99), latencies.getPercentile(1));
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ * LongHashSet
+ * A set of longs in a single open addressing array, 8 bytes a slot
+ * with no boxing or entry objects, so millions of 64-bit url hashes
+ * fit in tens of megabytes. 0 marks an empty slot and is stored as 1.
+ *
+ * Not thread safe, {@link CrawlFrontier} guards its own.
+ *
+ * @since October 2026
+ */
+class LongHashSet {
+
+	private long[] slots;
+	private int    size;
+
+	public LongHashSet() {
+		slots = new long[1 << 16];
+		size = 0;
+	}
+
+	/**
+	 * Adds a value to the set.
+	 * @param  value The value to add.
+	 * @return       true if it was not in the set before.
+	 */
+	public boolean add(long value) {
+		if (value == 0)
+			value = 1;
+		int mask = slots.length - 1;
+		int slot = mix(value) & mask;
+		for (long stored = slots[slot]; stored != 0; stored = slots[slot]) {
+			if (stored == value)
+				return false;
+			slot = (slot + 1) & mask;
+		}
+		slots[slot] = value;
+		if (++size > slots.length / 4 * 3)
+			grow();
+		return true;
+	}
+
+	/**
+	 * Returns whether a value is in the set.
+	 * @param  value The value to look for.
+	 * @return       true if it was added before.
+	 */
+	public boolean contains(long value) {
+		if (value == 0)
+			value = 1;
+		int mask = slots.length - 1;
+		for (int slot = mix(value) & mask; slots[slot] != 0; slot = (slot + 1) & mask)
+			if (slots[slot] == value)
+				return true;
+		return false;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private static int mix(long value) {
+		return (int) ((value * 0x9e3779b97f4a7c15L) >>> 32);
+	}
+
+	private void grow() {
+		long[] oldSlots = slots;
+		slots = new long[oldSlots.length * 2];
+		int mask = slots.length - 1;
+		for (long value : oldSlots) {
+			if (value == 0)
+				continue;
+			int slot = mix(value) & mask;
+			while (slots[slot] != 0)
+				slot = (slot + 1) & mask;
+			slots[slot] = value;
+		}
+	}
+}
@@ -0,0 +1,557 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * MockWikipediaServer
+ * A local HTTP server serving synthetic Wikipedia articles, so
+ * the crawler can be tuned and load tested without network access.
+ * Articles follow the structure {@link WikipediaPage} parses
+ * ({@code #content}, {@code #firstHeading}, {@code mw-headline},
+ * {@code #mw-content-text}) and draw their words from a Zipf
+ * distributed vocabulary. Latency, bandwidth and the rates of
+ * throttling (429) responses, unavailable (503) responses and slow
+ * responses, which time out when slower than the fetch timeout, are
+ * configurable.
+ *
+ * Serves /wiki/Special:Random (redirecting to a random article),
+ * /wiki/&lt;title&gt; and a subset of /w/api.php: generator=random
+ * with prop=revisions, returning the wikitext of every page, or with
+ * prop=extracts, returning like TextExtracts a single whole-article
+ * extract per response (or up to 20 with exintro) and the offset of
+ * the next in excontinue, with grncontinue keeping the same pages.
+ *
+ * @since October 2026
+ */
+class MockWikipediaServer {
+
+	public static final int NUM_ARTICLES = 1000000;
+	public static final String[] COMMON_WORDS = {
+		"the", "of", "and", "in", "a", "to", "was", "is", "for", "as", "on", "by", "with", "he",
+		"that", "at", "from", "his", "it", "an", "were", "are", "which", "this", "also", "be",
+		"or", "has", "had", "first", "one", "their", "its", "after", "new", "who", "they", "two",
+		"her", "she", "been", "other", "when", "time", "during", "there", "into", "school", "more",
+		"may", "years", "over", "only", "year", "most", "would", "world", "city", "some", "where",
+		"between", "later", "three", "state", "such", "then", "national", "used", "made", "known",
+		"under", "many", "university", "united", "while", "part", "season", "team", "these",
+		"american", "than", "film", "second", "born", "south", "became", "states", "war", "through",
+		"being", "including", "both", "before", "north", "high", "however", "people", "family"
+	};
+	public static final String[] STUB_NOTICES = {
+		"This biographical article is a stub. You can help Wikipedia by expanding it.",
+		"This geography article is a stub. You can help Wikipedia by expanding it.",
+		"This article about a film is a stub. You can help Wikipedia by expanding it.",
+		"This sports-related article is a stub. You can help Wikipedia by expanding it."
+	};
+	public static final String[] HEADINGS = {
+		"History", "Early life", "Career", "Personal life", "Biography", "Geography", "Demographics",
+		"Description", "Background", "Production", "Reception", "Legacy", "Track listing", "Economy",
+		"Education", "Notes", "References", "See also", "External links", "Further reading"
+	};
+	public static final int MAX_API_PAGES = 50;
+	public static final int MAX_INTRO_EXTRACTS = 20;
+	private static final String CONSONANTS = "bcdfghjklmnprstvwz";
+	private static final String VOWELS = "aeiou";
+
+	private HttpServer server;
+	private ExecutorService executor;
+	private String[] vocabulary;
+	private double[] cumulativeWeights;
+	private String   boilerplate;
+	private int      latencyMillis;
+	private long     bandwidth;
+	private double   errorRate;
+	private double   unavailableRate;
+	private double   slowRate;
+	private int      slowMillis;
+	private int      retryAfterSeconds;
+	private AtomicLong requests;
+
+	/**
+	 * Constructor with the behaviour of the server.
+	 * @param port           The port to listen on, 0 for any free port.
+	 * @param latencyMillis  The delay before every response in milliseconds.
+	 * @param bandwidth      The bytes per second each response is sent at,
+	 *                       or 0 for no limit.
+	 * @param errorRate      The fraction of requests answered with 429.
+	 * @param vocabularySize The number of distinct words articles use.
+	 * @param zipfExponent   The exponent of the word frequency distribution.
+	 * @throws IOException if the server cannot be bound.
+	 */
+	public MockWikipediaServer(int port, int latencyMillis, long bandwidth, double errorRate, int vocabularySize, double zipfExponent) throws IOException {
+		this.latencyMillis = latencyMillis;
+		this.bandwidth = bandwidth;
+		this.errorRate = errorRate;
+		unavailableRate = slowRate = 0;
+		slowMillis = 0;
+		retryAfterSeconds = 1;
+		requests = new AtomicLong();
+		buildVocabulary(Math.max(COMMON_WORDS.length, vocabularySize), zipfExponent);
+		boilerplate = buildBoilerplate();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 256);
+		server.createContext("/wiki/", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				handleWiki(exchange);
+			}
+		});
+		server.createContext("/w/api.php", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				handleApi(exchange);
+			}
+		});
+		executor = Executors.newCachedThreadPool();
+		server.setExecutor(executor);
+	}
+
+	/**
+	 * Answers a fraction of requests with 503 Service Unavailable,
+	 * on top of the 429s of the error rate.
+	 * @param unavailableRate The fraction of requests answered with 503.
+	 */
+	public void setUnavailableRate(double unavailableRate) {
+		this.unavailableRate = unavailableRate;
+	}
+
+	/**
+	 * Delays a fraction of responses on top of the latency. A delay
+	 * longer than {@link PageLoader#TIMEOUT_MILLIS} makes the fetch
+	 * time out.
+	 * @param slowRate   The fraction of responses delayed.
+	 * @param slowMillis The extra delay in milliseconds.
+	 */
+	public void setSlowResponses(double slowRate, int slowMillis) {
+		this.slowRate = slowRate;
+		this.slowMillis = slowMillis;
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public void stop() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Returns the url serving a random article.
+	 * @return the Special:Random url of this server.
+	 */
+	public String getRandomArticleURL() {
+		return getBaseURL() + "/wiki/Special:Random";
+	}
+
+	/**
+	 * Returns the url of this server's api.php.
+	 * @return the api url of this server.
+	 */
+	public String getApiURL() {
+		return getBaseURL() + "/w/api.php";
+	}
+
+	public String getBaseURL() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	/**
+	 * Returns the number of requests received, redirects and throttled
+	 * requests included.
+	 * @return the number of requests.
+	 */
+	public long getRequestCount() {
+		return requests.get();
+	}
+
+	private void handleWiki(HttpExchange exchange) throws IOException {
+		if (!beforeResponse(exchange))
+			return;
+		String title = URLDecoder.decode(exchange.getRequestURI().getRawPath().substring("/wiki/".length()), "UTF-8").replace('_', ' ');
+		if (title.equals("Special:Random")) {
+			exchange.getResponseHeaders().set("Location", "/wiki/" + encodeTitle(getTitle(ThreadLocalRandom.current().nextInt(NUM_ARTICLES))));
+			exchange.sendResponseHeaders(302, -1);
+			exchange.close();
+			return;
+		}
+		exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+		send(exchange, 200, renderArticle(title));
+	}
+
+	private void handleApi(HttpExchange exchange) throws IOException {
+		if (!beforeResponse(exchange))
+			return;
+		Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+		int limit = Math.max(1, Math.min(MAX_API_PAGES, parseInt(parameters.get("grnlimit"), 10)));
+		int batch = parameters.containsKey("grncontinue") ? parseInt(parameters.get("grncontinue"), 0) : ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+		boolean revisions = "revisions".equals(parameters.get("prop"));
+		boolean intro = parameters.containsKey("exintro");
+		int from = Math.max(0, parseInt(parameters.get("excontinue"), 0));
+		int to = Math.min(limit, from + (revisions ? limit : intro ? MAX_INTRO_EXTRACTS : 1));
+		StringBuilder json = new StringBuilder("{");
+		if (to < limit)
+			json.append("\"continue\":{\"excontinue\":").append(to).append(",\"grncontinue\":\"").append(batch).append("\",\"continue\":\"grncontinue||\"},");
+		else json.append("\"batchcomplete\":true,");
+		if (!revisions && !intro && limit > 1)
+			json.append("\"warnings\":{\"extracts\":{\"warnings\":\"\\\"exlimit\\\" was too large for a whole article extracts request, lowered to 1.\"}},");
+		json.append("\"query\":{\"pages\":[");
+		Random random = new Random(batch);
+		for (int i = 0; i < limit; i++) {
+			int pageId = random.nextInt(NUM_ARTICLES);
+			String title = getTitle(pageId);
+			if (i > 0)
+				json.append(',');
+			json.append("{\"pageid\":").append(pageId).append(",\"ns\":0,\"title\":\"").append(escapeJson(title)).append('"');
+			if (revisions)
+				json.append(",\"revisions\":[{\"slots\":{\"main\":{\"contentmodel\":\"wikitext\",\"contentformat\":\"text/x-wiki\",\"content\":\"")
+					.append(escapeJson(renderWikitext(title))).append("\"}}}]");
+			else if (i >= from && i < to)
+				json.append(",\"extract\":\"").append(escapeJson(intro ? renderIntro(title) : renderExtract(title))).append('"');
+			json.append('}');
+		}
+		json.append("]}}");
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		send(exchange, 200, json.toString());
+	}
+
+	private static Map<String, String> parseQuery(String query) throws UnsupportedEncodingException {
+		Map<String, String> parameters = new HashMap<String, String>();
+		for (String parameter : (query == null ? "" : query).split("&")) {
+			int equals = parameter.indexOf('=');
+			if (equals > 0)
+				parameters.put(URLDecoder.decode(parameter.substring(0, equals), "UTF-8"), URLDecoder.decode(parameter.substring(equals + 1), "UTF-8"));
+			else if (!parameter.isEmpty())
+				parameters.put(URLDecoder.decode(parameter, "UTF-8"), "");
+		}
+		return parameters;
+	}
+
+	private static int parseInt(String value, int defaultValue) {
+		try {
+			return value == null ? defaultValue : Integer.parseInt(value);
+		}	catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * Waits out the configured latency, plus the slow delay for slow
+	 * responses, and decides whether to throttle.
+	 * @return true if the request should be served, false if it
+	 *         was already answered with a 429 or 503.
+	 */
+	private boolean beforeResponse(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		if (latencyMillis > 0)
+			sleep(latencyMillis);
+		if (slowRate > 0 && ThreadLocalRandom.current().nextDouble() < slowRate)
+			sleep(slowMillis);
+		double fault = ThreadLocalRandom.current().nextDouble();
+		if (fault < errorRate + unavailableRate) {
+			exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+			exchange.sendResponseHeaders(fault < errorRate ? FetchResult.STATUS_TOO_MANY_REQUESTS : FetchResult.STATUS_UNAVAILABLE, -1);
+			exchange.close();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Sends a body, pacing it to the configured bandwidth.
+	 */
+	private void send(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(status, bytes.length);
+		OutputStream out = exchange.getResponseBody();
+		try {
+			int chunkSize = 8192;
+			for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+				int length = Math.min(chunkSize, bytes.length - offset);
+				out.write(bytes, offset, length);
+				if (bandwidth > 0)
+					sleep(length * 1000L / bandwidth);
+			}
+		}	finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Renders the full skin HTML of an article. The content is
+	 * derived from the title, so an article always renders the same.
+	 * @param  title The title of the article.
+	 * @return       The HTML of the article page.
+	 */
+	String renderArticle(String title) {
+		Random random = new Random(title.hashCode());
+		StringBuilder html = new StringBuilder(32768);
+		html.append("<!DOCTYPE html>\n<html lang=\"en\" dir=\"ltr\"><head><meta charset=\"UTF-8\"/><title>")
+			.append(escapeHtml(title)).append(" - Wikipedia</title></head>\n<body class=\"mediawiki ltr skin-vector\">")
+			.append("<div id=\"content\" class=\"mw-body\" role=\"main\"><h1 id=\"firstHeading\" class=\"firstHeading\" lang=\"en\">")
+			.append(escapeHtml(title)).append("</h1><div id=\"bodyContent\" class=\"mw-body-content\">")
+			.append("<div id=\"siteSub\">From Wikipedia, the free encyclopedia</div>")
+			.append("<div id=\"mw-content-text\" lang=\"en\" dir=\"ltr\" class=\"mw-content-ltr\">");
+		appendParagraphs(html, random, 1 + random.nextInt(3));
+		int numSections = random.nextInt(7);
+		for (int i = 0; i < numSections; i++) {
+			String heading = getHeading(random);
+			html.append("<h2><span class=\"mw-headline\" id=\"").append(heading.replace(' ', '_')).append("\">")
+				.append(escapeHtml(heading)).append("</span><span class=\"mw-editsection\">[edit]</span></h2>\n");
+			appendParagraphs(html, random, 1 + random.nextInt(4));
+			if (random.nextInt(3) == 0) {
+				html.append("<ul>");
+				for (int j = 1 + random.nextInt(6); j > 0; j--)
+					html.append("<li>").append(getSentence(random, 3 + random.nextInt(8), false)).append("</li>");
+				html.append("</ul>\n");
+			}
+		}
+		if (random.nextInt(3) == 0)
+			html.append("<p>").append(STUB_NOTICES[random.nextInt(STUB_NOTICES.length)]).append("</p>\n");
+		html.append("</div></div></div>\n").append(boilerplate).append("</body></html>\n");
+		return html.toString();
+	}
+
+	/**
+	 * Renders the plain text extract of an article as the
+	 * MediaWiki api does with exsectionformat=wiki.
+	 * @param  title The title of the article.
+	 * @return       The plain text of the article.
+	 */
+	String renderExtract(String title) {
+		Random random = new Random(title.hashCode());
+		StringBuilder text = new StringBuilder(8192);
+		for (int i = 1 + random.nextInt(3); i > 0; i--)
+			text.append(getSentences(random)).append('\n');
+		int numSections = random.nextInt(7);
+		for (int i = 0; i < numSections; i++) {
+			text.append("\n\n== ").append(getHeading(random)).append(" ==\n");
+			for (int j = 1 + random.nextInt(4); j > 0; j--)
+				text.append(getSentences(random)).append('\n');
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Renders the plain text lead section of an article, as the
+	 * MediaWiki api does with exintro.
+	 * @param  title The title of the article.
+	 * @return       The plain text of the lead section.
+	 */
+	String renderIntro(String title) {
+		String extract = renderExtract(title);
+		int heading = extract.indexOf("\n\n== ");
+		return heading < 0 ? extract : extract.substring(0, heading);
+	}
+
+	/**
+	 * Renders the wikitext of an article, with templates, references,
+	 * links, bold text and categories for the api source to strip.
+	 * @param  title The title of the article.
+	 * @return       The wikitext of the article.
+	 */
+	String renderWikitext(String title) {
+		Random random = new Random(title.hashCode());
+		StringBuilder text = new StringBuilder(16384);
+		text.append("{{Short description|").append(getSentence(random, 4, true)).append("}}\n");
+		if (random.nextBoolean())
+			text.append("{{Infobox\n| name = ").append(title).append("\n| known_for = {{hlist|").append(getWord(random))
+				.append('|').append(getWord(random)).append("}}\n}}\n");
+		appendWikiParagraphs(text, random, 1 + random.nextInt(3));
+		int numSections = random.nextInt(7);
+		for (int i = 0; i < numSections; i++) {
+			text.append("\n== ").append(getHeading(random)).append(" ==\n");
+			appendWikiParagraphs(text, random, 1 + random.nextInt(4));
+		}
+		text.append("\n== References ==\n{{Reflist}}\n\n[[Category:").append(getHeading(random)).append("]]\n");
+		return text.toString();
+	}
+
+	private void appendWikiParagraphs(StringBuilder text, Random random, int numParagraphs) {
+		for (int i = 0; i < numParagraphs; i++) {
+			for (int j = 2 + random.nextInt(5); j > 0; j--) {
+				text.append(getSentence(random, 6 + random.nextInt(20), true));
+				if (random.nextInt(4) == 0) {
+					String word = getWord(random);
+					text.append("<ref>{{cite web |url=https://example.org/").append(word).append(" |title=").append(word).append("}}</ref>");
+				}
+				text.append(' ');
+			}
+			text.append("\n\n");
+		}
+	}
+
+	private void appendParagraphs(StringBuilder html, Random random, int numParagraphs) {
+		for (int i = 0; i < numParagraphs; i++) {
+			html.append("<p>");
+			for (int j = 2 + random.nextInt(5); j > 0; j--) {
+				html.append(getSentence(random, 6 + random.nextInt(20), false));
+				if (random.nextInt(4) == 0)
+					html.append("<sup class=\"reference\"><a href=\"#cite_note-").append(j).append("\">[").append(j).append("]</a></sup>");
+				html.append(' ');
+			}
+			html.append("</p>\n");
+		}
+	}
+
+	private String getSentences(Random random) {
+		StringBuilder sentences = new StringBuilder();
+		for (int j = 2 + random.nextInt(5); j > 0; j--)
+			sentences.append(getSentence(random, 6 + random.nextInt(20), false)).append(' ');
+		return sentences.toString();
+	}
+
+	/**
+	 * Builds a sentence of Zipf distributed words, with some words
+	 * wrapped in links or bold tags and the odd entity or number.
+	 * @param wikitext Whether to mark up as wikitext instead of html.
+	 */
+	private String getSentence(Random random, int numWords, boolean wikitext) {
+		StringBuilder sentence = new StringBuilder();
+		for (int i = 0; i < numWords; i++) {
+			String word = getWord(random);
+			if (i == 0)
+				word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+			else sentence.append(random.nextInt(12) == 0 ? ", " : " ");
+			int markup = random.nextInt(20);
+			if (markup == 0 && wikitext)
+				sentence.append("[[").append(Character.toUpperCase(word.charAt(0))).append(word.substring(1)).append('|').append(word).append("]]");
+			else if (markup == 0)
+				sentence.append("<a href=\"/wiki/").append(encodeTitle(word)).append("\" title=\"").append(word).append("\">").append(word).append("</a>");
+			else if (markup == 1 && wikitext)
+				sentence.append("'''").append(word).append("'''");
+			else if (markup == 1)
+				sentence.append("<b>").append(word).append("</b>");
+			else if (markup == 2)
+				sentence.append(1800 + random.nextInt(220));
+			else if (markup == 3)
+				sentence.append(word).append(" &amp;");
+			else sentence.append(word);
+		}
+		return sentence.append('.').toString();
+	}
+
+	private String getWord(Random random) {
+		double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+		int min = 0, max = cumulativeWeights.length - 1;
+		while (min < max) {
+			int mid = (min + max) >>> 1;
+			if (cumulativeWeights[mid] < target)
+				min = mid + 1;
+			else max = mid;
+		}
+		return vocabulary[min];
+	}
+
+	private String getHeading(Random random) {
+		if (random.nextBoolean())
+			return HEADINGS[random.nextInt(HEADINGS.length)];
+		String word = vocabulary[random.nextInt(Math.min(vocabulary.length, 2000))];
+		return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+	}
+
+	/**
+	 * Gets the title of an article from its id.
+	 * @param  pageId The id of the article.
+	 * @return        The title of the article.
+	 */
+	String getTitle(int pageId) {
+		Random random = new Random(pageId);
+		StringBuilder title = new StringBuilder();
+		for (int i = 1 + random.nextInt(3); i > 0; i--) {
+			String word = vocabulary[COMMON_WORDS.length + random.nextInt(vocabulary.length - COMMON_WORDS.length)];
+			if (title.length() > 0)
+				title.append(' ');
+			title.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+		}
+		return title.toString();
+	}
+
+	/**
+	 * Builds the vocabulary, the common English words followed by
+	 * pronounceable made up words, and the cumulative Zipf weights.
+	 */
+	private void buildVocabulary(int vocabularySize, double zipfExponent) {
+		vocabulary = new String[vocabularySize];
+		cumulativeWeights = new double[vocabularySize];
+		double total = 0;
+		for (int i = 0; i < vocabularySize; i++) {
+			vocabulary[i] = i < COMMON_WORDS.length ? COMMON_WORDS[i] : makeWord(i);
+			total += 1 / Math.pow(i + 1, zipfExponent);
+			cumulativeWeights[i] = total;
+		}
+	}
+
+	private static String makeWord(int index) {
+		StringBuilder word = new StringBuilder();
+		for (int i = index; i > 0 || word.length() < 4; i /= CONSONANTS.length() * VOWELS.length()) {
+			int syllable = i % (CONSONANTS.length() * VOWELS.length());
+			word.append(CONSONANTS.charAt(syllable / VOWELS.length())).append(VOWELS.charAt(syllable % VOWELS.length()));
+		}
+		return word.toString();
+	}
+
+	/**
+	 * Builds the navigation and footer markup surrounding every
+	 * article, so responses are about as heavy as the real skin.
+	 */
+	private String buildBoilerplate() {
+		StringBuilder html = new StringBuilder("<div id=\"mw-navigation\"><div id=\"mw-panel\">");
+		for (int i = 0; i < 150; i++)
+			html.append("<li id=\"n-").append(i).append("\"><a href=\"/wiki/Portal:").append(vocabulary[i % vocabulary.length])
+				.append("\" title=\"Portal\">").append(vocabulary[i % vocabulary.length]).append("</a></li>");
+		html.append("</div></div><div id=\"footer\" role=\"contentinfo\"><ul id=\"footer-info\"><li>Text is available under the ")
+			.append("Creative Commons Attribution-ShareAlike License; additional terms may apply.</li></ul></div>")
+			.append("<script>(RLQ=window.RLQ||[]).push(function(){mw.config.set({\"wgBackendResponseTime\":123});});</script>");
+		return html.toString();
+	}
+
+	private static String encodeTitle(String title) {
+		try {
+			return URLEncoder.encode(title.replace(' ', '_'), "UTF-8");
+		}	catch (UnsupportedEncodingException e) {
+			return title;
+		}
+	}
+
+	private static String escapeHtml(String text) {
+		return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+	}
+
+	private static String escapeJson(String text) {
+		StringBuilder escaped = new StringBuilder(text.length() + 16);
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '"' || c == '\\')
+				escaped.append('\\').append(c);
+			else if (c == '\n')
+				escaped.append("\\n");
+			else if (c < 0x20)
+				escaped.append(String.format("\\u%04x", (int) c));
+			else escaped.append(c);
+		}
+		return escaped.toString();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}	catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
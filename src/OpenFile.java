@@ -6,6 +6,12 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Scanner;
 
 /**
@@ -124,6 +130,47 @@ public class OpenFile {
 		return file.delete();
 	}
 
+	/**
+	 * Moves a file, replacing whatever was at the destination.
+	 * @param  fromPath The relative path to the file to move.
+	 * @param  toPath   The relative path to move the file to.
+	 * @return          Whether or not the file was moved.
+	 */
+	public static boolean moveFile(String fromPath, String toPath) {
+		try {
+			Files.move(Paths.get(fromPath), Paths.get(toPath), StandardCopyOption.REPLACE_EXISTING);
+			return true;
+		}	catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Moves a file over another in a single step, so that readers see
+	 * either the old or the new file and never a partial one.
+	 * @param  fromPath The relative path to the file to move.
+	 * @param  toPath   The relative path to replace.
+	 * @throws IOException if the file cannot be moved.
+	 */
+	public static void replaceFileAtomically(String fromPath, String toPath) throws IOException {
+		Files.move(Paths.get(fromPath), Paths.get(toPath), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Forces a file (or a directory, to persist renames in it) to disk.
+	 * @param  path The relative path to the file or directory.
+	 * @return      Whether or not the file was synced.
+	 */
+	public static boolean syncFile(String path) {
+		Path file = Paths.get(path);
+		try (FileChannel channel = FileChannel.open(file, Files.isDirectory(file) ? StandardOpenOption.READ : StandardOpenOption.WRITE)) {
+			channel.force(true);
+			return true;
+		}	catch (IOException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Checks if file exists at a given path.
 	 * @param  path The relative path to the file.
@@ -1,12 +1,17 @@
+import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.MalformedURLException;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
+import java.util.zip.GZIPInputStream;
+import java.io.FilterInputStream;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.InputStreamReader;
 import java.io.IOException;
 
+import org.jsoup.Connection;
 import org.jsoup.nodes.Document;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Element;
@@ -19,6 +24,22 @@ import org.jsoup.nodes.Element;
  */
 public class PageLoader {
 	public static final Pattern CONTENT_TYPE_REGEX = Pattern.compile("text/html;\\s+charset=([^\\s]+)\\s*");
+	public static final Pattern CHARSET_REGEX = Pattern.compile("charset=([^\\s;]+)");
+	public static final String  USER_AGENT = "WikipediaWords/1.0 (https://github.com/The-Ofek-Foundation/WikipediaWords)";
+	public static final int     TIMEOUT_MILLIS = 10000;
+
+	/**
+	 * Consumes the body of a response as it is being downloaded.
+	 */
+	public interface StreamHandler {
+		/**
+		 * Handles the (already decompressed) body of a response.
+		 * @param  in      The body of the response.
+		 * @param  charset The charset the response declared, UTF-8 if none.
+		 * @throws IOException if the body cannot be read or parsed.
+		 */
+		void handle(InputStream in, String charset) throws IOException;
+	}
 
 	private PageLoader() {}
 
@@ -50,14 +71,79 @@ public class PageLoader {
 		}
 	}
 
-	public static Document getDocument(String path) {
+	/**
+	 * Fetches and parses the page at a specific url path, keeping
+	 * the status code and Retry-After header of the response.
+	 * @param  path The string path for the page to fetch
+	 * @return      A {@link FetchResult} describing the outcome
+	 */
+	public static FetchResult fetch(String path) {
+		FetchEvent event = new FetchEvent();
+		event.begin();
+		long startTime = System.nanoTime();
 		try {
-			return Jsoup.connect(path).get();
+			Connection.Response response = Jsoup.connect(path).ignoreHttpErrors(true).execute();
+			int status = response.statusCode();
+			long retryAfter = FetchResult.parseRetryAfter(response.header("Retry-After"));
+			byte[] body = response.bodyAsBytes();
+			Document document = status >= 200 && status < 300 ? response.parse() : null;
+			return event.finish(new FetchResult(path, status, document, retryAfter, body.length, System.nanoTime() - startTime));
 		}	catch (IOException e) {
-			return null;
+			return event.finish(new FetchResult(path, FetchResult.STATUS_IO_ERROR, null, -1, 0, System.nanoTime() - startTime));
+		}
+	}
+
+	/**
+	 * Fetches the page at a specific url path and streams its body
+	 * to handler instead of buffering and parsing it as HTML. Gzip
+	 * compression is requested to cut the bytes transferred.
+	 * @param  path    The string path for the page to fetch
+	 * @param  handler The {@link StreamHandler} consuming the body
+	 * @return         A {@link FetchResult} describing the outcome
+	 */
+	public static FetchResult fetch(String path, StreamHandler handler) {
+		FetchEvent event = new FetchEvent();
+		event.begin();
+		long startTime = System.nanoTime();
+		try {
+			HttpURLConnection con = (HttpURLConnection) new URL(path).openConnection();
+			con.setConnectTimeout(TIMEOUT_MILLIS);
+			con.setReadTimeout(TIMEOUT_MILLIS);
+			con.setRequestProperty("User-Agent", USER_AGENT);
+			con.setRequestProperty("Accept-Encoding", "gzip");
+			int status = con.getResponseCode();
+			long retryAfter = FetchResult.parseRetryAfter(con.getHeaderField("Retry-After"));
+			if (status < 200 || status >= 300) {
+				InputStream error = con.getErrorStream();
+				if (error != null)
+					error.close();
+				return event.finish(new FetchResult(path, status, null, retryAfter, 0, System.nanoTime() - startTime));
+			}
+			String contentType = con.getContentType();
+			Matcher m = CHARSET_REGEX.matcher(contentType == null ? "" : contentType);
+			String charset = m.find() ? m.group(1) : "UTF-8";
+			CountingInputStream body = new CountingInputStream(con.getInputStream());
+			InputStream in = "gzip".equalsIgnoreCase(con.getContentEncoding()) ? new GZIPInputStream(body) : body;
+			try {
+				handler.handle(in, charset);
+			}	finally {
+				in.close();
+			}
+			return event.finish(new FetchResult(path, status, null, retryAfter, body.getCount(), System.nanoTime() - startTime));
+		}	catch (IOException e) {
+			return event.finish(new FetchResult(path, FetchResult.STATUS_IO_ERROR, null, -1, 0, System.nanoTime() - startTime));
 		}
 	}
 
+	/**
+	 * Fetches and parses the page at a specific url path.
+	 * @param  path The string path for the page to fetch
+	 * @return      The parsed page, or null if it could not be fetched
+	 */
+	public static Document getDocument(String path) {
+		return fetch(path).getDocument();
+	}
+
 	/**
 	 * Get a URL instance from a url path
 	 * @param  urlPath The string path for the url
@@ -70,4 +156,37 @@ public class PageLoader {
 			return null;
 		}
 	}
+
+	/**
+	 * An {@link InputStream} counting the bytes read through it.
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+
+		private long count;
+
+		CountingInputStream(InputStream in) {
+			super(in);
+			count = 0;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0)
+				count++;
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0)
+				count += n;
+			return n;
+		}
+
+		long getCount() {
+			return count;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * ParseEvent
+ * A Java Flight Recorder event spanning the parse of an article into
+ * a {@link WikipediaPage}: title, headings and words.
+ *
+ * @since October 2026
+ */
+@Name("wikipediawords.Parse")
+@Label("Parse")
+@Category("WikipediaWords")
+@Description("An article parsed into its title, headings and words")
+class ParseEvent extends Event {
+
+	@Label("Parser")
+	@Description("jsoup, text (already extracted by the API) or bytes")
+	String parser;
+
+	@Label("Tokens")
+	@Description("Number of words in the article")
+	int tokens;
+
+	@Label("Valid")
+	boolean valid;
+
+	/**
+	 * Fills in and commits the event if it is being recorded.
+	 * @param parser The name of the parser used.
+	 * @param page   The parsed page.
+	 */
+	public void finish(String parser, WikipediaPage page) {
+		if (shouldCommit()) {
+			this.parser = parser;
+			valid = page.isValid();
+			tokens = valid ? page.getWordsLowercase().length : 0;
+			commit();
+		}
+	}
+}
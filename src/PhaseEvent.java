@@ -0,0 +1,31 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * PhaseEvent
+ * A Java Flight Recorder event spanning one of the bulk phases
+ * around parsing: threads writing or spilling their results, and
+ * the runner loading, merging, cleaning up and saving them.
+ *
+ * @since October 2026
+ */
+@Name("wikipediawords.Phase")
+@Label("Phase")
+@Category("WikipediaWords")
+@Description("A phase of reading or writing results")
+class PhaseEvent extends Event {
+
+	@Label("Phase")
+	String phase;
+
+	/**
+	 * Constructor with the name of the phase.
+	 * @param phase The name of the phase.
+	 */
+	public PhaseEvent(String phase) {
+		this.phase = phase;
+	}
+}
@@ -0,0 +1,85 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.jsoup.Jsoup;
+
+/**
+ * RandomArticleSource
+ * Produces random articles by loading Wikipedia's Special:Random
+ * page, one full HTML page per article. With the byte tokenizer
+ * the body is parsed by a {@link ByteArticleParser} straight from
+ * a reused buffer instead of being decoded into a jsoup Document.
+ *
+ * @since October 2026
+ */
+class RandomArticleSource implements ArticleSource {
+
+	private FetchScheduler fetchScheduler;
+	private String randomArticleURL;
+	private ByteArticleParser byteArticleParser;
+	private BlockCache blockCache;
+	private byte[] body;
+	private WikipediaPage parsedPage;
+
+	/**
+	 * Constructor with the {@link FetchScheduler} to fetch through and
+	 * the url of the random article page.
+	 * @param fetchScheduler   The shared {@link FetchScheduler}.
+	 * @param randomArticleURL The url serving a random article.
+	 * @param tokenizerKernel  The kernel to parse pages from their bytes
+	 *                         with, or null to parse them through jsoup.
+	 * @param blockCache       The cache of block words for pages parsed
+	 *                         through jsoup, or null for none.
+	 * @param maxTableWords    The most distinct words the byte parser's
+	 *                         {@link ByteWordTable} keeps.
+	 */
+	public RandomArticleSource(FetchScheduler fetchScheduler, String randomArticleURL, TokenizerKernel tokenizerKernel, BlockCache blockCache, int maxTableWords) {
+		this.fetchScheduler = fetchScheduler;
+		this.randomArticleURL = randomArticleURL;
+		this.blockCache = blockCache;
+		if (tokenizerKernel != null) {
+			byteArticleParser = new ByteArticleParser(new ByteWordTable(maxTableWords), tokenizerKernel);
+			body = new byte[1 << 16];
+		}
+	}
+
+	public WikipediaPage nextPage() {
+		if (byteArticleParser == null) {
+			FetchResult result = fetchScheduler.fetch(randomArticleURL);
+			if (!result.isSuccess())
+				return null;
+			return new WikipediaPage(result.getDocument(), blockCache);
+		}
+		parsedPage = null;
+		FetchResult result = fetchScheduler.fetch(randomArticleURL, new PageLoader.StreamHandler() {
+			@Override
+			public void handle(InputStream in, String charset) throws IOException {
+				parsedPage = parseBody(in, charset);
+			}
+		});
+		return result.isSuccess() ? parsedPage : null;
+	}
+
+	/**
+	 * Reads a whole body into the reused buffer and parses it.
+	 * Bodies in charsets that are not ASCII compatible fall back
+	 * to jsoup.
+	 */
+	private WikipediaPage parseBody(InputStream in, String charset) throws IOException {
+		int length = 0;
+		for (int n = 0; n >= 0; n = in.read(body, length, body.length - length)) {
+			length += n;
+			if (length == body.length)
+				body = Arrays.copyOf(body, body.length * 2);
+		}
+		if (!ByteArticleParser.isAsciiCompatible(charset))
+			return new WikipediaPage(Jsoup.parse(new String(body, 0, length, charset)), blockCache);
+		return byteArticleParser.parse(ByteBuffer.wrap(body, 0, length));
+	}
+
+	public boolean hasNext() {
+		return true;
+	}
+}
@@ -0,0 +1,61 @@
+import java.util.ArrayList;
+
+/**
+ * SnapshotBuffer
+ * The articles a single {@link WikipediaWordsThread} parsed since the
+ * last live snapshot, double buffered so the snapshot never makes the
+ * thread wait. The thread only appends references to an article's
+ * word arrays; {@link LiveSnapshot} swaps the buffers and does the
+ * counting on its own thread.
+ *
+ * A busy counter works like a seqlock: the thread makes it odd while
+ * appending and even again after. Having swapped the buffers, the
+ * snapshot waits for the counter to move off an odd value it saw, so
+ * an article is either wholly in the old buffer or wholly in the new
+ * one, and the old buffer is then the snapshot's alone.
+ *
+ * @since October 2026
+ */
+class SnapshotBuffer {
+
+	private volatile ArrayList<String[][]> active;
+	private volatile int busy;
+	private ArrayList<String[][]> spare;
+
+	public SnapshotBuffer() {
+		active = new ArrayList<String[][]>();
+		spare = new ArrayList<String[][]>();
+		busy = 0;
+	}
+
+	/**
+	 * Called by the owning thread to add a parsed article. The arrays
+	 * must not be changed afterwards.
+	 * @param words      The lowercase words of the article.
+	 * @param headings   The headings of the article.
+	 * @param titleWords The lowercase words of the article's title.
+	 */
+	public void add(String[] words, String[] headings, String[] titleWords) {
+		busy++;
+		active.add(new String[][] {words, headings, titleWords});
+		busy++;
+	}
+
+	/**
+	 * Swaps the buffers and returns the articles added since the
+	 * last call, waiting at most for one article being appended.
+	 * Only one thread may drain a buffer, and the returned list is
+	 * only valid until the next call.
+	 * @return the articles as arrays of words, headings and title words.
+	 */
+	public ArrayList<String[][]> drain() {
+		ArrayList<String[][]> drained = active;
+		spare.clear();
+		active = spare;
+		int seen = busy;
+		while ((seen & 1) != 0 && busy == seen)
+			Thread.onSpinWait();
+		spare = drained;
+		return drained;
+	}
+}
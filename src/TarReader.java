@@ -0,0 +1,188 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * TarReader
+ * Reads the regular files of a tar archive one after another from a
+ * stream, without seeking, so a compressed archive can be read as it
+ * is decompressed. Understands ustar name prefixes, GNU long names,
+ * pax path records and base-256 sizes; every other entry type is
+ * skipped.
+ *
+ * @since October 2026
+ */
+class TarReader implements Closeable {
+
+	private static final int BLOCK_SIZE = 512;
+
+	private InputStream in;
+	private byte[] header;
+	private long   remaining;
+	private long   padding;
+
+	/**
+	 * Constructor with the stream of the (uncompressed) archive.
+	 * @param in The stream of the archive.
+	 */
+	public TarReader(InputStream in) {
+		this.in = in;
+		header = new byte[BLOCK_SIZE];
+		remaining = padding = 0;
+	}
+
+	/**
+	 * Moves to the next regular file, skipping whatever is left of
+	 * the current one.
+	 * @return the name of the file, or null at the end of the archive.
+	 * @throws IOException if reading fails or the archive is malformed.
+	 */
+	public String nextEntry() throws IOException {
+		String longName = null;
+		while (true) {
+			skipFully(remaining + padding);
+			remaining = padding = 0;
+			if (!readHeader())
+				return null;
+			long size = parseSize();
+			remaining = size;
+			padding = (BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE;
+			byte type = header[156];
+			if (type == 'L')
+				longName = trimName(readEntry());
+			else if (type == 'x')
+				longName = parsePaxPath(readEntry(), longName);
+			else if (type == '0' || type == 0)
+				return longName != null ? longName : parseName();
+			else longName = null;
+		}
+	}
+
+	/**
+	 * Returns a stream over the rest of the current file, which
+	 * does not close the archive when closed.
+	 * @return the stream of the current file.
+	 */
+	public InputStream getEntryStream() {
+		return new InputStream() {
+			@Override
+			public int read() throws IOException {
+				byte[] one = new byte[1];
+				return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				if (remaining == 0)
+					return -1;
+				int n = in.read(b, off, (int) Math.min(len, remaining));
+				if (n < 0)
+					throw new EOFException("Truncated tar entry");
+				remaining -= n;
+				return n;
+			}
+		};
+	}
+
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	 * Reads the next header block.
+	 * @return false at the end of the archive (a zero block or the
+	 *         end of the stream).
+	 */
+	private boolean readHeader() throws IOException {
+		int read = 0;
+		while (read < BLOCK_SIZE) {
+			int n = in.read(header, read, BLOCK_SIZE - read);
+			if (n < 0) {
+				if (read == 0)
+					return false;
+				throw new EOFException("Truncated tar header");
+			}
+			read += n;
+		}
+		for (byte b : header)
+			if (b != 0)
+				return true;
+		return false;
+	}
+
+	private byte[] readEntry() throws IOException {
+		if (remaining > 1 << 20)
+			throw new IOException("Tar metadata entry too large");
+		byte[] entry = new byte[(int) remaining];
+		for (int read = 0; read < entry.length; ) {
+			int n = in.read(entry, read, entry.length - read);
+			if (n < 0)
+				throw new EOFException("Truncated tar entry");
+			read += n;
+		}
+		remaining = 0;
+		return entry;
+	}
+
+	private long parseSize() throws IOException {
+		if ((header[124] & 0x80) != 0) {
+			long size = header[124] & 0x7F;
+			for (int i = 125; i < 136; i++)
+				size = (size << 8) | (header[i] & 0xFF);
+			return size;
+		}
+		long size = 0;
+		for (int i = 124; i < 136 && header[i] != 0 && header[i] != ' '; i++) {
+			if (header[i] < '0' || header[i] > '7')
+				throw new IOException("Malformed tar header");
+			size = size * 8 + header[i] - '0';
+		}
+		return size;
+	}
+
+	private String parseName() {
+		String name = trimName(Arrays.copyOfRange(header, 0, 100));
+		String prefix = trimName(Arrays.copyOfRange(header, 345, 500));
+		boolean ustar = header[257] == 'u' && header[258] == 's' && header[259] == 't' && header[260] == 'a' && header[261] == 'r';
+		return ustar && !prefix.isEmpty() ? prefix + "/" + name : name;
+	}
+
+	/**
+	 * Finds the path record ("length path=value\n") of a pax header.
+	 */
+	private static String parsePaxPath(byte[] pax, String fallback) {
+		for (String record : new String(pax, StandardCharsets.UTF_8).split("\n")) {
+			int equals = record.indexOf('=');
+			int space = record.indexOf(' ');
+			if (space >= 0 && equals > space && record.substring(space + 1, equals).equals("path"))
+				return record.substring(equals + 1);
+		}
+		return fallback;
+	}
+
+	private static String trimName(byte[] bytes) {
+		int length = 0;
+		while (length < bytes.length && bytes[length] != 0)
+			length++;
+		return new String(bytes, 0, length, StandardCharsets.UTF_8);
+	}
+
+	private void skipFully(long bytes) throws IOException {
+		byte[] skipBuffer = null;
+		while (bytes > 0) {
+			long skipped = in.skip(bytes);
+			if (skipped <= 0) {
+				if (skipBuffer == null)
+					skipBuffer = new byte[8192];
+				int n = in.read(skipBuffer, 0, (int) Math.min(skipBuffer.length, bytes));
+				if (n < 0)
+					throw new EOFException("Truncated tar entry");
+				skipped = n;
+			}
+			bytes -= skipped;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * TfIdfExporter
+ * Ranks words by how characteristic they are of the articles they
+ * appear in rather than by how common they are: a word's total
+ * occurrences (tf) times the log of the number of articles over the
+ * number of articles containing it (idf). Both lists are sorted
+ * alphabetically, so they are joined in a single pass, and only the
+ * top words are kept on a heap.
+ *
+ * @since October 2026
+ */
+class TfIdfExporter {
+
+	private TfIdfExporter() {}
+
+	/**
+	 * A word with its tf-idf score.
+	 */
+	static class ScoredWord {
+
+		private String word;
+		private int    occurrences;
+		private int    documentFrequency;
+		private double score;
+
+		ScoredWord(String word, int occurrences, int documentFrequency, double score) {
+			this.word = word;
+			this.occurrences = occurrences;
+			this.documentFrequency = documentFrequency;
+			this.score = score;
+		}
+
+		public String getWord() {
+			return word;
+		}
+
+		public double getScore() {
+			return score;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-15s %,12.1f %,12d %,10d", word, score, occurrences, documentFrequency);
+		}
+	}
+
+	/**
+	 * Finds the words with the highest tf-idf scores.
+	 * @param  wordsList           The occurrences of every word, sorted
+	 *                             alphabetically.
+	 * @param  documentFrequencies The document frequencies, sorted
+	 *                             alphabetically, as from a
+	 *                             {@link DocumentFrequencyCounter}.
+	 * @param  numTopWords         The number of words to find.
+	 * @return                     The top words, highest score first.
+	 */
+	public static ArrayList<ScoredWord> getTopWords(WordList wordsList, WordList documentFrequencies, int numTopWords) {
+		Comparator<ScoredWord> byScore = new Comparator<ScoredWord>() {
+			@Override
+			public int compare(ScoredWord word1, ScoredWord word2) {
+				return Double.compare(word1.score, word2.score);
+			}
+		};
+		PriorityQueue<ScoredWord> top = new PriorityQueue<ScoredWord>(numTopWords + 1, byScore);
+		int documents = 0;
+		for (int i = 0; i < documentFrequencies.size() && documentFrequencies.get(i).getWord().startsWith("#"); i++)
+			if (documentFrequencies.get(i).getWord().equals(DocumentFrequencyCounter.DOCUMENTS))
+				documents = documentFrequencies.get(i).getOccurrences();
+		for (int i = 0, j = 0; documents > 0 && i < wordsList.size() && j < documentFrequencies.size(); ) {
+			WordHistogram word = wordsList.get(i);
+			WordHistogram frequency = documentFrequencies.get(j);
+			int comparison = word.compareTo(frequency);
+			if (comparison < 0)
+				i++;
+			else if (comparison > 0)
+				j++;
+			else {
+				double score = word.getOccurrences() * Math.log((double) documents / frequency.getOccurrences());
+				if (top.size() < numTopWords || top.peek().score < score) {
+					top.add(new ScoredWord(word.getWord(), word.getOccurrences(), frequency.getOccurrences(), score));
+					if (top.size() > numTopWords)
+						top.poll();
+				}
+				i++;
+				j++;
+			}
+		}
+		ArrayList<ScoredWord> topWords = new ArrayList<ScoredWord>(top);
+		Collections.sort(topWords, Collections.reverseOrder(byScore));
+		return topWords;
+	}
+
+	/**
+	 * Writes the words with the highest tf-idf scores to a file.
+	 * @param  filePath            The path to save the file to.
+	 * @param  wordsList           The occurrences of every word, sorted
+	 *                             alphabetically.
+	 * @param  documentFrequencies The document frequencies, sorted
+	 *                             alphabetically.
+	 * @param  numTopWords         The number of words to write.
+	 * @throws IOException if writing fails.
+	 */
+	public static void export(String filePath, WordList wordsList, WordList documentFrequencies, int numTopWords) throws IOException {
+		BufferedWriter bufferedWriter = OpenFile.openFileToWriter(filePath);
+		if (bufferedWriter == null)
+			throw new IOException("Cannot write " + filePath);
+		try {
+			bufferedWriter.write(String.format("%-15s %12s %12s %10s\n", "TF-IDF:", "score", "occurrences", "articles"));
+			for (ScoredWord word : getTopWords(wordsList, documentFrequencies, numTopWords))
+				bufferedWriter.write(word + "\n");
+		}	finally {
+			bufferedWriter.close();
+		}
+	}
+}
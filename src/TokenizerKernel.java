@@ -0,0 +1,88 @@
+/**
+ * TokenizerKernel
+ * The inner loops of {@link ByteArticleParser}: finding where a
+ * run of text ends and which of its bytes are ASCII letters. The
+ * {@link #create(boolean)} factory picks the SIMD kernel when the
+ * Vector API is available, and this scalar kernel otherwise.
+ *
+ * @since October 2026
+ */
+class TokenizerKernel {
+
+	/** The most bytes {@link #classify} handles at a time, one per bit of its mask. */
+	public static final int BLOCK_SIZE = 64;
+
+	private static final String VECTOR_KERNEL = "VectorTokenizerKernel";
+
+	/**
+	 * Creates a kernel.
+	 * @param  vectorized Whether to try the SIMD kernel, which needs
+	 *                    the jdk.incubator.vector module.
+	 * @return            The SIMD kernel if asked for and supported on
+	 *                    this JVM and CPU, else the scalar kernel.
+	 */
+	public static TokenizerKernel create(boolean vectorized) {
+		if (vectorized)
+			try {
+				TokenizerKernel kernel = (TokenizerKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+				if (kernel.isSupported())
+					return kernel;
+			}	catch (ReflectiveOperationException | LinkageError e) {
+				// no jdk.incubator.vector, fall back to scalar code
+			}
+		return new TokenizerKernel();
+	}
+
+	/**
+	 * Returns a short description of the kernel.
+	 * @return the name of the kernel.
+	 */
+	public String getName() {
+		return "scalar";
+	}
+
+	/**
+	 * Returns whether the kernel can run on this JVM and CPU.
+	 * @return true if the kernel can be used.
+	 */
+	public boolean isSupported() {
+		return true;
+	}
+
+	/**
+	 * Finds the end of a run of text.
+	 * @param  buf  The bytes to search.
+	 * @param  from The index to start at.
+	 * @param  to   The index to stop at.
+	 * @return      The index of the first '&lt;' or '&amp;', or to if none.
+	 */
+	public int findMarkup(byte[] buf, int from, int to) {
+		int i = from;
+		while (i < to && buf[i] != '<' && buf[i] != '&')
+			i++;
+		return i;
+	}
+
+	/**
+	 * Classifies up to {@link #BLOCK_SIZE} bytes as letters or not,
+	 * and lowercases them.
+	 * @param  buf          The bytes to classify.
+	 * @param  offset       The index of the first byte.
+	 * @param  length       The number of bytes, at most {@link #BLOCK_SIZE}.
+	 * @param  folded       Receives every byte with the ASCII case bit set,
+	 *                      which lowercases the letters.
+	 * @param  foldedOffset Where in folded to put the first byte.
+	 * @return              A mask with bit i set if byte offset + i is an
+	 *                      ASCII letter.
+	 */
+	public long classify(byte[] buf, int offset, int length, byte[] folded, int foldedOffset) {
+		long letters = 0;
+		for (int i = 0; i < length; i++) {
+			byte lower = (byte) (buf[offset + i] | 0x20);
+			folded[foldedOffset + i] = lower;
+			if (lower >= 'a' && lower <= 'z')
+				letters |= 1L << i;
+		}
+		return letters;
+	}
+}
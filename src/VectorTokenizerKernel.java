@@ -0,0 +1,65 @@
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorTokenizerKernel
+ * A {@link TokenizerKernel} using the incubating Vector API, which
+ * classifies and lowercases a whole vector of bytes (32 with AVX2,
+ * 64 with AVX-512) per step and turns the comparisons into bit masks.
+ * Tails shorter than a vector go through the scalar code.
+ *
+ * Only loaded through {@link TokenizerKernel#create(boolean)}, so the
+ * rest of the program runs without jdk.incubator.vector.
+ *
+ * @since October 2026
+ */
+class VectorTokenizerKernel extends TokenizerKernel {
+
+	private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+	private static final int LANES = SPECIES.length();
+
+	@Override
+	public String getName() {
+		return "vector-" + SPECIES.vectorBitSize();
+	}
+
+	/**
+	 * Returns whether vectors are wide enough to beat the scalar
+	 * code and narrow enough to fit a mask in a long.
+	 */
+	@Override
+	public boolean isSupported() {
+		return LANES >= 16 && LANES <= BLOCK_SIZE;
+	}
+
+	@Override
+	public int findMarkup(byte[] buf, int from, int to) {
+		int i = from;
+		for (; i + LANES <= to; i += LANES) {
+			ByteVector bytes = ByteVector.fromArray(SPECIES, buf, i);
+			VectorMask<Byte> markup = bytes.eq((byte) '<').or(bytes.eq((byte) '&'));
+			if (markup.anyTrue())
+				return i + markup.firstTrue();
+		}
+		return super.findMarkup(buf, i, to);
+	}
+
+	@Override
+	public long classify(byte[] buf, int offset, int length, byte[] folded, int foldedOffset) {
+		long letters = 0;
+		int i = 0;
+		for (; i + LANES <= length; i += LANES) {
+			ByteVector lower = ByteVector.fromArray(SPECIES, buf, offset + i).or((byte) 0x20);
+			lower.intoArray(folded, foldedOffset + i);
+			// bytes of 0x80 and up are negative, so never letters
+			VectorMask<Byte> isLetter = lower.compare(VectorOperators.GE, (byte) 'a')
+				.and(lower.compare(VectorOperators.LE, (byte) 'z'));
+			letters |= isLetter.toLong() << i;
+		}
+		if (i < length)
+			letters |= super.classify(buf, offset + i, length - i, folded, foldedOffset + i) << i;
+		return letters;
+	}
+}
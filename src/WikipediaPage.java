@@ -1,3 +1,7 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -13,6 +17,9 @@ import org.jsoup.select.Elements;
  */
 class WikipediaPage {
 
+	private static final Pattern NON_LETTERS = Pattern.compile("[^A-Za-z ]");
+	private static final Pattern SPACES      = Pattern.compile("  +");
+
 	private String   title;
 	private String[] headings;
 	private String[] words, wordslc;
@@ -24,21 +31,79 @@ class WikipediaPage {
 	 *                 content of a Wikipedia article.
 	 */
 	public WikipediaPage(Document article) {
+		this(article, null);
+	}
+
+	/**
+	 * Constructor with passed {@link Document} article, looking up
+	 * the words of its text blocks in a {@link BlockCache} before
+	 * splitting them. The words are the same as without the cache.
+	 * @param  article    A {@link Document} element containing the html
+	 *                    content of a Wikipedia article.
+	 * @param  blockCache The cache of block words, or null for none.
+	 */
+	public WikipediaPage(Document article, BlockCache blockCache) {
+		ParseEvent event = new ParseEvent();
+		event.begin();
 		badArticle = false;
-		parseWikipediaPage(article);
+		parseWikipediaPage(article, blockCache);
+		event.finish("jsoup", this);
+	}
+
+	/**
+	 * Constructor with an article that was already split into its
+	 * title, headings and plain text (for example by the MediaWiki API).
+	 * The same cleanup as for {@link Document} articles is applied.
+	 * @param  title    The raw title of the article.
+	 * @param  headings The raw section headings of the article.
+	 * @param  text     The plain text content of the article.
+	 */
+	public WikipediaPage(String title, String[] headings, String text) {
+		ParseEvent event = new ParseEvent();
+		event.begin();
+		badArticle = title == null || headings == null || text == null;
+		if (!badArticle) {
+			this.title = cleanHeading(title);
+			this.headings = new String[headings.length];
+			for (int i = 0; i < headings.length; i++)
+				this.headings[i] = cleanHeading(headings[i]);
+			parseWords(text);
+		}
+		event.finish("text", this);
+	}
+
+	/**
+	 * Constructor with an article whose words were already cut and
+	 * lowercased (for example by {@link ByteArticleParser}). Only
+	 * the lowercase words are known, so they are also returned by
+	 * {@link #getWords()}.
+	 * @param  title          The raw title of the article.
+	 * @param  headings       The raw section headings of the article.
+	 * @param  wordsLowercase The lowercase words of the article.
+	 */
+	public WikipediaPage(String title, String[] headings, String[] wordsLowercase) {
+		badArticle = title == null || headings == null || wordsLowercase == null;
+		if (badArticle)
+			return;
+		this.title = cleanHeading(title);
+		this.headings = new String[headings.length];
+		for (int i = 0; i < headings.length; i++)
+			this.headings[i] = cleanHeading(headings[i]);
+		words = wordslc = wordsLowercase;
 	}
 
 	/**
 	 * Parses a Wikipedia page given a {@link Document} article.
-	 * @param article A {@link Document} element containing the html
-	 *                content of a Wikipedia article.
+	 * @param article    A {@link Document} element containing the html
+	 *                   content of a Wikipedia article.
+	 * @param blockCache The cache of block words, or null for none.
 	 */
-	private void parseWikipediaPage(Document article) {
+	private void parseWikipediaPage(Document article, BlockCache blockCache) {
 		try {
 			Element content = article.getElementById("content");
 			parseTitle(content);
 			parseHeadings(content);
-			parseWords(content);
+			parseWords(content, blockCache);
 		}	catch (NullPointerException e) {
 			badArticle = true;
 		}
@@ -50,7 +115,7 @@ class WikipediaPage {
 	 *                of a Wikipedia page.
 	 */
 	private void parseTitle(Element content) {
-		title = content.getElementById("firstHeading").text().replaceAll("[^\\w- ']", "").replaceAll("  +", " ").replaceAll("(?<=[^\\w])[-']+|[-']+(?=[^\\w])", "");
+		title = cleanHeading(content.getElementById("firstHeading").text());
 	}
 
 	/**
@@ -62,19 +127,141 @@ class WikipediaPage {
 		Elements headingsDOM = content.getElementsByClass("mw-headline");
 		headings = new String[headingsDOM.size()];
 		for (int i = 0; i < headings.length; i++)
-			headings[i] = headingsDOM.eq(i).text().replaceAll("[^\\w- ']", "").replaceAll("  +", " ").replaceAll("(?<=[^\\w])[-']+|[-']+(?=[^\\w])", "");
+			headings[i] = cleanHeading(headingsDOM.eq(i).text());
+	}
+
+	/**
+	 * Strips a title or heading down to word characters, spaces,
+	 * and inner hyphens and apostrophes.
+	 * @param  heading The raw text of the title or heading.
+	 * @return         The cleaned up text.
+	 */
+	static String cleanHeading(String heading) {
+		return heading.replaceAll("[^\\w- ']", "").replaceAll("  +", " ").replaceAll("(?<=[^\\w])[-']+|[-']+(?=[^\\w])", "");
 	}
 
 	/**
 	 * Parses the words of a Wikipedia page given its content.
-	 * @param content An {@link Element} object containing the content
-	 *                of a Wikipedia page.
+	 * @param content    An {@link Element} object containing the content
+	 *                   of a Wikipedia page.
+	 * @param blockCache The cache of block words, or null for none.
+	 */
+	private void parseWords(Element content, BlockCache blockCache) {
+		Elements blocks = content.select("#mw-content-text p, #mw-content-text ul");
+		if (blockCache == null)
+			parseWords(blocks.text());
+		else parseWords(blocks, blockCache);
+	}
+
+	/**
+	 * Splits the text blocks of a Wikipedia page into words, reusing
+	 * the words of blocks seen before. Blocks that are not cached are
+	 * joined and split together, a run of them at a time, as without
+	 * the cache. Words never span two blocks, so these are the words of
+	 * the joined text, down to the empty first word when it starts
+	 * with a non-letter.
+	 * @param blocks     The p and ul elements of the page.
+	 * @param blockCache The cache of block words.
+	 */
+	private void parseWords(Elements blocks, BlockCache blockCache) {
+		ArrayList<String[][]> parts = new ArrayList<String[][]>();
+		StringBuilder pending = new StringBuilder();
+		String firstText = null;
+		int numWords = 0;
+		for (Element block : blocks) {
+			String text = block.text();
+			if (text.isEmpty())
+				continue;
+			if (firstText == null)
+				firstText = text;
+			BlockCache.Block cached = null;
+			if (text.length() >= BlockCache.MIN_CHARS) {
+				long startTime = System.nanoTime();
+				long hash = BlockCache.hash(text);
+				cached = blockCache.get(text, hash);
+				long overhead = System.nanoTime() - startTime;
+				if (cached == BlockCache.SEEN) {
+					String[][] split = splitBlock(text, blockCache);
+					startTime = System.nanoTime();
+					cached = blockCache.put(text, hash, split[0], split[1]);
+					overhead += System.nanoTime() - startTime;
+				}
+				blockCache.addOverheadTime(overhead);
+			}
+			if (cached == null) {
+				if (pending.length() > 0)
+					pending.append(' ');
+				pending.append(text);
+				continue;
+			}
+			numWords += flush(pending, parts, blockCache);
+			parts.add(new String[][] {cached.getWords(), cached.getWordsLowercase()});
+			numWords += cached.getWords().length;
+		}
+		numWords += flush(pending, parts, blockCache);
+		if (firstText == null) {
+			parseWords("");
+			return;
+		}
+		char first = firstText.charAt(0);
+		int index = numWords > 0 && !(first >= 'A' && first <= 'Z' || first >= 'a' && first <= 'z') ? 1 : 0;
+		words = new String[index + numWords];
+		wordslc = new String[words.length];
+		if (index == 1)
+			words[0] = wordslc[0] = "";
+		for (String[][] part : parts) {
+			System.arraycopy(part[0], 0, words, index, part[0].length);
+			System.arraycopy(part[1], 0, wordslc, index, part[0].length);
+			index += part[0].length;
+		}
+	}
+
+	/**
+	 * Splits the joined text of a run of blocks that are not cached.
+	 * @return the number of words split.
+	 */
+	private static int flush(StringBuilder pending, ArrayList<String[][]> parts, BlockCache blockCache) {
+		if (pending.length() == 0)
+			return 0;
+		String[][] split = splitBlock(pending.toString(), blockCache);
+		pending.setLength(0);
+		parts.add(split);
+		return split[0].length;
+	}
+
+	/**
+	 * Splits the text of one or more blocks into words without the
+	 * empty first word, timing the split for the cache's estimate.
+	 */
+	private static String[][] splitBlock(String text, BlockCache blockCache) {
+		long startTime = System.nanoTime();
+		String[][] split = splitWords(text);
+		if (split[0].length > 0 && split[0][0].isEmpty()) {
+			split[0] = Arrays.copyOfRange(split[0], 1, split[0].length);
+			split[1] = Arrays.copyOfRange(split[1], 1, split[1].length);
+		}
+		blockCache.addSplitTime(text.length(), System.nanoTime() - startTime);
+		return split;
+	}
+
+	/**
+	 * Splits the plain text content of a Wikipedia page into words.
+	 * @param articleContents The plain text content of the page.
+	 */
+	private void parseWords(String articleContents) {
+		String[][] split = splitWords(articleContents);
+		words = split[0];
+		wordslc = split[1];
+	}
+
+	/**
+	 * Splits text into words, keeping only letters.
+	 * @param  text The plain text.
+	 * @return      The words and the lowercase words of the text.
 	 */
-	private void parseWords(Element content) {
-		String articleContents = content.select("#mw-content-text p, #mw-content-text ul").text();
-		articleContents = articleContents.replaceAll("[^A-Za-z ]", " ").replaceAll("  +", " ");
-		words = articleContents.split(" ");
-		wordslc = articleContents.toLowerCase().split(" ");
+	private static String[][] splitWords(String text) {
+		text = SPACES.matcher(NON_LETTERS.matcher(text).replaceAll(" ")).replaceAll(" ");
+		return new String[][] {text.split(" "), text.toLowerCase().split(" ")};
 	}
 
 	/**
@@ -1,3 +1,15 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -22,6 +34,8 @@ import org.apache.commons.cli.ParseException;
 
 public class WikipediaWords {
 
+	public static final String JFR_PROFILE = "/wikipediawords.jfc";
+
 	public static Option help = new Option("h", "help", false, "print this message");
 	public static Option runTimeOption = Option.builder("t")
 			.longOpt("run-time")
@@ -45,12 +59,204 @@ public class WikipediaWords {
 			.hasArg(false)
 			.desc("load and save results to build off other executions")
 			.build();
+	public static Option rateOption = Option.builder("r")
+			.longOpt("rate")
+			.hasArg()
+			.type(Double.class)
+			.desc("maximum requests per second across all threads (float)")
+			.build();
+	public static Option urlOption = Option.builder("u")
+			.longOpt("url")
+			.hasArg()
+			.desc("url serving a random article (default Special:Random)")
+			.build();
+	public static Option sourceOption = Option.builder("s")
+			.longOpt("source")
+			.hasArg()
+			.desc("where to get articles from: random (default), api or crawl (follows links)")
+			.build();
+	public static Option apiURLOption = Option.builder("a")
+			.longOpt("api-url")
+			.hasArg()
+			.desc("url of the MediaWiki api.php used by the api source")
+			.build();
+	public static Option batchSizeOption = Option.builder("b")
+			.longOpt("batch-size")
+			.hasArg()
+			.type(Integer.class)
+			.desc("number of articles per api request (int)")
+			.build();
+	public static Option dumpOption = Option.builder("d")
+			.longOpt("dump")
+			.hasArg()
+			.desc("parse a local Enterprise HTML dump (*.ndjson.tar.gz) instead of fetching, run-time then optional")
+			.build();
+	public static Option frontierMemoryOption = Option.builder()
+			.longOpt("frontier-memory")
+			.hasArg()
+			.type(Integer.class)
+			.desc("pending urls the crawl source keeps in memory before spilling to disk, default 100000 (int)")
+			.build();
+	public static Option windowOption = Option.builder("w")
+			.longOpt("window")
+			.hasArg()
+			.type(Double.class)
+			.desc("also count words over a sliding window of this many minutes (float)")
+			.build();
+	public static Option windowIntervalOption = Option.builder()
+			.longOpt("window-interval")
+			.hasArg()
+			.type(Double.class)
+			.desc("seconds per sliding window segment, default 60 (float)")
+			.build();
+	public static Option snapshotOption = Option.builder()
+			.longOpt("snapshot")
+			.hasArg()
+			.type(Double.class)
+			.desc("save live snapshots of the totals every this many seconds (0 for none) and whenever Enter is pressed, keeping a second copy of the totals in memory unless --memory-budget bounds it (float)")
+			.build();
+	public static Option queryOption = Option.builder()
+			.longOpt("query")
+			.hasArg()
+			.desc("comma separated questions about the final words: a word (count, rank, percentile), >=N (words occurring N times or more), topN (share of tokens of the N most common words) or P% (words needed to cover P% of tokens)")
+			.build();
+	public static Option memoryBudgetOption = Option.builder("M")
+			.longOpt("memory-budget")
+			.hasArg()
+			.type(Integer.class)
+			.desc("distinct entries kept in memory across all threads before spilling to disk (int)")
+			.build();
+	public static Option byteTokenizerOption = Option.builder()
+			.longOpt("byte-tokenizer")
+			.hasArg(false)
+			.desc("parse random articles from the raw response bytes instead of through jsoup")
+			.build();
+	public static Option blockCacheOption = Option.builder()
+			.longOpt("block-cache")
+			.hasArg()
+			.type(Integer.class)
+			.desc("text blocks whose words are cached across articles parsed through jsoup, default 0 (int)")
+			.build();
+	public static Option hotWordsOption = Option.builder()
+			.longOpt("hot-words")
+			.hasArg()
+			.type(Integer.class)
+			.desc("most common words counted apart in a perfect hash table, from the cumulative results or a built-in list, default 0 (int)")
+			.build();
+	public static Option simdOption = Option.builder()
+			.longOpt("simd")
+			.hasArg(false)
+			.desc("byte tokenizer with SIMD text scanning, needs --add-modules jdk.incubator.vector")
+			.build();
+	public static Option benchmarkOption = Option.builder()
+			.longOpt("benchmark")
+			.hasArg()
+			.desc("check and time a component on one core (tokenizer, blockcache or hotwords), run-time seconds per variant")
+			.build();
+	public static Option jfrOption = Option.builder()
+			.longOpt("jfr")
+			.hasArg()
+			.desc("record fetch, parse, count and result phase events with Flight Recorder to this file")
+			.build();
+	public static Option mockServerOption = Option.builder()
+			.longOpt("mock-server")
+			.hasArg()
+			.type(Integer.class)
+			.desc("serve synthetic Wikipedia articles on this local port instead of parsing (int)")
+			.build();
+	public static Option loadTestOption = Option.builder()
+			.longOpt("load-test")
+			.hasArg()
+			.desc("load test against a local mock server with these comma separated thread counts")
+			.build();
+	public static Option loadTestSourcesOption = Option.builder()
+			.longOpt("load-test-sources")
+			.hasArg()
+			.desc("comma separated sources to load test (random, api, crawl, bytes), default random,api")
+			.build();
+	public static Option mockLatencyOption = Option.builder()
+			.longOpt("mock-latency")
+			.hasArg()
+			.type(Integer.class)
+			.desc("mock server delay per response in milliseconds, default 50 (int)")
+			.build();
+	public static Option mockBandwidthOption = Option.builder()
+			.longOpt("mock-bandwidth")
+			.hasArg()
+			.type(Long.class)
+			.desc("mock server bytes per second per response, default unlimited (int)")
+			.build();
+	public static Option mockErrorRateOption = Option.builder()
+			.longOpt("mock-error-rate")
+			.hasArg()
+			.type(Double.class)
+			.desc("fraction of mock server responses that are 429s, default 0 (float)")
+			.build();
+	public static Option mockUnavailableRateOption = Option.builder()
+			.longOpt("mock-unavailable-rate")
+			.hasArg()
+			.type(Double.class)
+			.desc("fraction of mock server responses that are 503s, default 0 (float)")
+			.build();
+	public static Option mockSlowRateOption = Option.builder()
+			.longOpt("mock-slow-rate")
+			.hasArg()
+			.type(Double.class)
+			.desc("fraction of mock server responses delayed by mock-slow-millis, default 0 (float)")
+			.build();
+	public static Option mockSlowMillisOption = Option.builder()
+			.longOpt("mock-slow-millis")
+			.hasArg()
+			.type(Integer.class)
+			.desc("extra delay of slow mock server responses in milliseconds, default 20000, past the fetch timeout (int)")
+			.build();
+	public static Option mockVocabularyOption = Option.builder()
+			.longOpt("mock-vocabulary")
+			.hasArg()
+			.type(Integer.class)
+			.desc("number of distinct words in mock articles, default 50000 (int)")
+			.build();
+	public static Option mockZipfOption = Option.builder()
+			.longOpt("mock-zipf")
+			.hasArg()
+			.type(Double.class)
+			.desc("zipf exponent of mock article words, default 1.0 (float)")
+			.build();
 	public static Options options = new Options()
 		.addOption(help)
 		.addOption(runTimeOption)
 		.addOption(numThreadsOption)
 		.addOption(saveToFileOption)
-		.addOption(cumulativeOption);
+		.addOption(cumulativeOption)
+		.addOption(rateOption)
+		.addOption(urlOption)
+		.addOption(sourceOption)
+		.addOption(apiURLOption)
+		.addOption(batchSizeOption)
+		.addOption(dumpOption)
+		.addOption(frontierMemoryOption)
+		.addOption(windowOption)
+		.addOption(windowIntervalOption)
+		.addOption(snapshotOption)
+		.addOption(queryOption)
+		.addOption(memoryBudgetOption)
+		.addOption(byteTokenizerOption)
+		.addOption(simdOption)
+		.addOption(blockCacheOption)
+		.addOption(hotWordsOption)
+		.addOption(benchmarkOption)
+		.addOption(jfrOption)
+		.addOption(mockServerOption)
+		.addOption(loadTestOption)
+		.addOption(loadTestSourcesOption)
+		.addOption(mockLatencyOption)
+		.addOption(mockBandwidthOption)
+		.addOption(mockErrorRateOption)
+		.addOption(mockUnavailableRateOption)
+		.addOption(mockSlowRateOption)
+		.addOption(mockSlowMillisOption)
+		.addOption(mockVocabularyOption)
+		.addOption(mockZipfOption);
 	public static CommandLineParser parser = new DefaultParser();
 
 	public static void main(String... pumpkins) {
@@ -59,8 +265,22 @@ public class WikipediaWords {
 
 		try {
 			CommandLine line = parser.parse(options, pumpkins);
-			if (!line.hasOption("help"))	{
-				double runTime = Double.parseDouble(line.getOptionValue("run-time"));
+			if (line.hasOption("jfr"))
+				startRecording(line.getOptionValue("jfr"));
+			if (line.hasOption("mock-server")) {
+				MockWikipediaServer server = createMockServer(line, Integer.parseInt(line.getOptionValue("mock-server")));
+				server.start();
+				System.out.printf("Serving mock Wikipedia at %s\n", server.getBaseURL());
+				printHelp = false;
+			}	else if (line.hasOption("load-test")) {
+				runLoadTest(line);
+				printHelp = false;
+			}	else if (line.hasOption("benchmark")) {
+				if (!Benchmarks.run(line.getOptionValue("benchmark"), Double.parseDouble(line.getOptionValue("run-time", "3"))))
+					System.exit(51236);
+				printHelp = false;
+			}	else if (!line.hasOption("help"))	{
+				double runTime = line.hasOption("dump") && !line.hasOption("run-time") ? Double.POSITIVE_INFINITY : Double.parseDouble(line.getOptionValue("run-time"));
 				int numThreads = line.hasOption("num-threads") ? Integer.parseInt(line.getOptionValue("num-threads")):1;
 				boolean saveToFile = line.hasOption("output");
 				boolean cumulative = line.hasOption("cumulative");
@@ -75,6 +295,41 @@ public class WikipediaWords {
 				// System.exit(0);
 
 				WikipediaWordsRunner WWR = new WikipediaWordsRunner(runTime, numThreads, saveToFile, cumulative);
+				if (line.hasOption("rate"))
+					WWR.setRateLimit(Double.parseDouble(line.getOptionValue("rate")));
+				if (line.hasOption("url"))
+					WWR.setRandomArticleURL(line.getOptionValue("url"));
+				if (line.hasOption("source")) {
+					String source = line.getOptionValue("source");
+					if (!Arrays.asList(WikipediaWordsRunner.SOURCES).contains(source)) {
+						System.err.printf("Unknown source %s!!!\n", source);
+						System.exit(51234);
+					}
+					WWR.setSource(source);
+				}
+				if (line.hasOption("dump"))
+					WWR.setDumpPath(line.getOptionValue("dump"));
+				if (line.hasOption("api-url"))
+					WWR.setApiURL(line.getOptionValue("api-url"));
+				if (line.hasOption("batch-size"))
+					WWR.setBatchSize(Integer.parseInt(line.getOptionValue("batch-size")));
+				if (line.hasOption("frontier-memory"))
+					WWR.setFrontierMemory(Integer.parseInt(line.getOptionValue("frontier-memory")));
+				if (line.hasOption("memory-budget"))
+					WWR.setMemoryBudget(Integer.parseInt(line.getOptionValue("memory-budget")));
+				WWR.setByteTokenizer(line.hasOption("byte-tokenizer") || line.hasOption("simd"));
+				if (line.hasOption("simd") && !WWR.setSimd(true))
+					System.err.println("SIMD tokenizer unavailable, using scalar code");
+				if (line.hasOption("block-cache"))
+					WWR.setBlockCache(Integer.parseInt(line.getOptionValue("block-cache")));
+				if (line.hasOption("hot-words"))
+					WWR.setHotWords(Integer.parseInt(line.getOptionValue("hot-words")));
+				if (line.hasOption("window"))
+					WWR.setWindow(Double.parseDouble(line.getOptionValue("window")), Double.parseDouble(line.getOptionValue("window-interval", "60")));
+				if (line.hasOption("query"))
+					WWR.setQueries(line.getOptionValue("query").split(","));
+				if (line.hasOption("snapshot"))
+					WWR.setSnapshotInterval(Double.parseDouble(line.getOptionValue("snapshot")));
 				WWR.run();
 				printHelp = false;
 			}
@@ -88,11 +343,90 @@ public class WikipediaWords {
 		}	catch (NumberFormatException nfException) {
 			System.err.println("Input format mismatch!!!");
 			System.exit(51233);
-		}	catch (NullPointerException npException) {}
+		}	catch (NullPointerException npException) {
+		}	catch (IOException ioException) {
+			System.err.printf("I/O failed: %s!!!\n", ioException.getMessage());
+			System.exit(51235);
+		}	catch (InterruptedException iException) {}
 		if (printHelp)
 			printHelpText();
 	}
 
+	/**
+	 * Starts a Flight Recorder recording with the JDK's default settings
+	 * and the shipped {@link #JFR_PROFILE} on top, written to a file when
+	 * the program exits.
+	 * @param  path The file to write the recording to.
+	 * @throws IOException if the profile cannot be read or the file
+	 *                     cannot be written.
+	 */
+	public static void startRecording(String path) throws IOException {
+		InputStream profile = WikipediaWords.class.getResourceAsStream(JFR_PROFILE);
+		if (profile == null)
+			throw new IOException("Missing " + JFR_PROFILE);
+		Map<String, String> settings = new HashMap<String, String>();
+		try {
+			settings.putAll(Configuration.getConfiguration("default").getSettings());
+			settings.putAll(Configuration.create(new InputStreamReader(profile, StandardCharsets.UTF_8)).getSettings());
+		}	catch (java.text.ParseException e) {
+			throw new IOException("Malformed " + JFR_PROFILE, e);
+		}	finally {
+			profile.close();
+		}
+		Recording recording = new Recording(settings);
+		recording.setName("WikipediaWords");
+		recording.setToDisk(true);
+		recording.setDestination(Paths.get(path));
+		recording.start();
+		System.out.printf("Recording Flight Recorder events to %s\n", path);
+	}
+
+	/**
+	 * Creates a {@link MockWikipediaServer} configured by the mock
+	 * command line options.
+	 * @param  line The parsed command line.
+	 * @param  port The port to listen on, 0 for any free port.
+	 * @return      The (not yet started) server.
+	 * @throws IOException if the server cannot be bound.
+	 */
+	public static MockWikipediaServer createMockServer(CommandLine line, int port) throws IOException {
+		MockWikipediaServer server = new MockWikipediaServer(port,
+			Integer.parseInt(line.getOptionValue("mock-latency", "50")),
+			Long.parseLong(line.getOptionValue("mock-bandwidth", "0")),
+			Double.parseDouble(line.getOptionValue("mock-error-rate", "0")),
+			Integer.parseInt(line.getOptionValue("mock-vocabulary", "50000")),
+			Double.parseDouble(line.getOptionValue("mock-zipf", "1.0")));
+		server.setUnavailableRate(Double.parseDouble(line.getOptionValue("mock-unavailable-rate", "0")));
+		server.setSlowResponses(Double.parseDouble(line.getOptionValue("mock-slow-rate", "0")),
+			Integer.parseInt(line.getOptionValue("mock-slow-millis", "20000")));
+		return server;
+	}
+
+	/**
+	 * Sweeps thread counts and sources against a local mock server,
+	 * each run lasting run-time seconds (10 if not given).
+	 * @param line The parsed command line.
+	 * @throws IOException          if the server or report fails.
+	 * @throws InterruptedException if interrupted while waiting for a run.
+	 */
+	public static void runLoadTest(CommandLine line) throws IOException, InterruptedException {
+		String[] threadCountStrings = line.getOptionValue("load-test").split(",");
+		int[] threadCounts = new int[threadCountStrings.length];
+		for (int i = 0; i < threadCounts.length; i++)
+			threadCounts[i] = Integer.parseInt(threadCountStrings[i].trim());
+		String[] sources = line.getOptionValue("load-test-sources", WikipediaWordsRunner.SOURCE_RANDOM + "," + WikipediaWordsRunner.SOURCE_API).split(",");
+		MockWikipediaServer server = createMockServer(line, 0);
+		server.start();
+		boolean passed;
+		try {
+			passed = new LoadTestHarness(server, sources, threadCounts, Double.parseDouble(line.getOptionValue("run-time", "10"))).run();
+		}	finally {
+			server.stop();
+		}
+		if (!passed)
+			System.exit(51236);
+	}
+
 	/**
 	 * Prints the command line help text for this program.
 	 */
@@ -1,6 +1,10 @@
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.BufferedWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Timer;
+import java.util.TimerTask;
 
 /**
  * WikipediaWords
@@ -15,13 +19,47 @@ import java.io.BufferedWriter;
 
 public class WikipediaWordsRunner {
 
+	public static final String DELTA_PATH      = "results/cumulative-delta.txt";
+	public static final String MERGED_PATH     = "results/merged-results.txt";
+	public static final String RANDOM_ARTICLE_URL = "https://en.wikipedia.org/wiki/Special:Random";
+	public static final String SOURCE_RANDOM = "random";
+	public static final String SOURCE_API    = "api";
+	public static final String SOURCE_CRAWL  = "crawl";
+	public static final String SOURCE_DUMP   = "dump";
+	public static final String[] SOURCES     = {SOURCE_RANDOM, SOURCE_API, SOURCE_CRAWL};
+
 	private WikipediaWordsThread[] wikipediaWordsThreads;
 	private WordList wordsList;
 	private WordList headingsList;
 	private WordList titleWordList;
+	private WordList documentFrequencyList;
+	private WindowedWordList windowedWordsList;
+	private WindowedWordList windowedHeadingsList;
+	private WindowedWordList windowedTitleWordList;
+	private Timer   windowTimer;
+	private LiveSnapshot liveSnapshot;
+	private double  snapshotInterval;
+	private String[] queries;
+	private FrequencyIndex frequencyIndex;
+	private FetchScheduler fetchScheduler;
+	private String  source;
+	private String  randomArticleURL;
+	private String  apiURL;
+	private int     batchSize;
+	private int     frontierMemory;
+	private CrawlFrontier frontier;
+	private CumulativeStore cumulativeStore;
+	private DumpReader dumpReader;
+	private int     memoryBudget;
+	private boolean byteTokenizer;
+	private TokenizerKernel tokenizerKernel;
+	private BlockCache blockCache;
+	private int     numHotWords;
+	private HotWordTable hotWordTable;
 	private int     articlesParsed;
+	private int     invalidArticles, fetchFailures;
 	private int     threadsCompleted, threadsParsed, threadsWritten;
-	private double  startTime, elapsedTime;
+	private double  startTime, elapsedTime, parseTime;
 	private boolean saveToFile;
 	private boolean cumulative;
 
@@ -40,13 +78,259 @@ public class WikipediaWordsRunner {
 		wordsList = new WordList();
 		headingsList = new WordList();
 		titleWordList = new WordList();
-		articlesParsed = 0;
+		documentFrequencyList = new WordList();
+		fetchScheduler = new FetchScheduler(0);
+		source = SOURCE_RANDOM;
+		randomArticleURL = RANDOM_ARTICLE_URL;
+		apiURL = ApiArticleSource.API_URL;
+		batchSize = 20;
+		frontierMemory = 100000;
+		memoryBudget = 0;
+		snapshotInterval = 0;
+		numHotWords = 0;
+		byteTokenizer = false;
+		tokenizerKernel = new TokenizerKernel();
+		articlesParsed = invalidArticles = fetchFailures = 0;
 		threadsCompleted = threadsParsed = threadsWritten = 0;
-		startTime = elapsedTime = 0;
+		startTime = elapsedTime = parseTime = 0;
 		this.saveToFile = saveToFile;
 		this.cumulative = cumulative;
 	}
 
+	/**
+	 * Limits the number of requests per second sent by all threads
+	 * together. Must be called before {@link #run()}.
+	 * @param rate The maximum requests per second, or a value
+	 *             {@code <= 0} to not limit the rate.
+	 */
+	public void setRateLimit(double rate) {
+		fetchScheduler = new FetchScheduler(rate);
+	}
+
+	/**
+	 * Sets the url that serves a random article, used to point
+	 * the threads at a mirror or a local stub server.
+	 * @param randomArticleURL The url of the random article page.
+	 */
+	public void setRandomArticleURL(String randomArticleURL) {
+		this.randomArticleURL = randomArticleURL;
+	}
+
+	/**
+	 * Sets where the threads get their articles from, one of
+	 * {@link #SOURCES}. Must be called before {@link #run()}.
+	 * @param source The name of the article source.
+	 */
+	public void setSource(String source) {
+		this.source = source;
+	}
+
+	/**
+	 * Sets the MediaWiki api endpoint used by the api source.
+	 * @param apiURL The url of api.php.
+	 */
+	public void setApiURL(String apiURL) {
+		this.apiURL = apiURL;
+	}
+
+	/**
+	 * Sets the number of articles the api source requests at once.
+	 * @param batchSize The number of articles per request.
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Reads articles from a local Wikimedia Enterprise HTML dump
+	 * instead of fetching them. Threads stop early once the dump is
+	 * exhausted. Must be called before {@link #run()}.
+	 * @param  dumpPath The path of the *.ndjson.tar.gz dump.
+	 * @throws IOException if the dump cannot be opened.
+	 */
+	public void setDumpPath(String dumpPath) throws IOException {
+		dumpReader = new DumpReader(dumpPath, wikipediaWordsThreads.length);
+		source = SOURCE_DUMP;
+	}
+
+	/**
+	 * Sets the number of pending urls the crawl source keeps in
+	 * memory, the rest are spilled to disk.
+	 * @param frontierMemory The most pending urls in memory.
+	 */
+	public void setFrontierMemory(int frontierMemory) {
+		this.frontierMemory = frontierMemory;
+	}
+
+	/**
+	 * Enables sliding window counting next to the totals, keeping
+	 * the last windowMinutes minutes in segments of intervalSeconds.
+	 * The window's top words are written to results/window-results.txt
+	 * after every interval. Must be called before {@link #run()}.
+	 * @param windowMinutes   The length of the window in minutes.
+	 * @param intervalSeconds The length of a single segment in seconds.
+	 */
+	public void setWindow(double windowMinutes, double intervalSeconds) {
+		int numIntervals = (int) Math.ceil(windowMinutes * 60 / intervalSeconds);
+		windowedWordsList = new WindowedWordList(numIntervals, intervalSeconds);
+		windowedHeadingsList = new WindowedWordList(numIntervals, intervalSeconds);
+		windowedTitleWordList = new WindowedWordList(numIntervals, intervalSeconds);
+		windowTimer = new Timer("Window Reporter", true);
+		final long interval = (long) (intervalSeconds * 1000);
+		windowTimer.scheduleAtFixedRate(new TimerTask() {
+			@Override
+			public void run() {
+				saveWindowToFile();
+			}
+		}, interval, interval);
+	}
+
+	/**
+	 * Called by individual threads to add a parsed article to the
+	 * sliding windows, if windowed counting is enabled.
+	 * @param words      The lowercase words of the article.
+	 * @param headings   The headings of the article.
+	 * @param titleWords The lowercase words of the article's title.
+	 */
+	public void addToWindow(String[] words, String[] headings, String[] titleWords) {
+		if (windowedWordsList == null)
+			return;
+		windowedWordsList.addWords(words);
+		windowedHeadingsList.addWords(headings);
+		windowedTitleWordList.addWords(titleWords);
+	}
+
+	/**
+	 * Enables live snapshots of the totals while the threads are
+	 * still running, taken every intervalSeconds and whenever a line
+	 * is entered on the console, without pausing the threads. See
+	 * {@link LiveSnapshot}. Must be called before {@link #run()}.
+	 * @param intervalSeconds The seconds between snapshots, or 0 to
+	 *                        only take them from the console.
+	 */
+	public void setSnapshotInterval(double intervalSeconds) {
+		snapshotInterval = intervalSeconds;
+		liveSnapshot = new LiveSnapshot(wikipediaWordsThreads.length);
+		for (int i = 0; i < wikipediaWordsThreads.length; i++)
+			wikipediaWordsThreads[i].setSnapshotBuffer(liveSnapshot.getBuffer(i));
+	}
+
+	/**
+	 * Answers questions about the words once the results are in,
+	 * from a {@link FrequencyIndex} kept up to date while the thread
+	 * results are merged. A query is a word (its count, rank and
+	 * percentile), ">=N" (the number of words occurring at least N
+	 * times), "topN" (the share of tokens the N most common words make
+	 * up) or "P%" (the number of words needed to cover P% of tokens).
+	 * @param queries The queries to answer.
+	 */
+	public void setQueries(String[] queries) {
+		this.queries = queries;
+		frequencyIndex = new FrequencyIndex();
+		wordsList.setFrequencyIndex(frequencyIndex);
+	}
+
+	/**
+	 * Limits the number of distinct entries all threads together
+	 * keep in memory, split evenly between the threads. Threads
+	 * spill their lists to sorted run files when over budget, and
+	 * the run files are combined with a streaming merge at the end
+	 * (together with the cumulative results, which are then never
+	 * loaded into memory). Must be called before {@link #run()}.
+	 * @param memoryBudget The maximum number of entries, or 0 for no limit.
+	 */
+	public void setMemoryBudget(int memoryBudget) {
+		this.memoryBudget = memoryBudget;
+		for (int i = 0; i < wikipediaWordsThreads.length; i++)
+			wikipediaWordsThreads[i].setMemoryBudget(memoryBudget > 0 ? Math.max(1, memoryBudget / wikipediaWordsThreads.length) : 0);
+	}
+
+	/**
+	 * Parses random articles straight from the bytes of the response
+	 * with a {@link ByteArticleParser} instead of through jsoup.
+	 * @param byteTokenizer Whether to use the byte tokenizer.
+	 */
+	public void setByteTokenizer(boolean byteTokenizer) {
+		this.byteTokenizer = byteTokenizer;
+	}
+
+	/**
+	 * Scans text in the byte tokenizer with SIMD instructions through
+	 * the Vector API, if this JVM and CPU support it.
+	 * @param  simd Whether to use the SIMD {@link TokenizerKernel}.
+	 * @return      Whether the kernel asked for is the one in use.
+	 */
+	public boolean setSimd(boolean simd) {
+		tokenizerKernel = TokenizerKernel.create(simd);
+		return simd == (tokenizerKernel.getClass() != TokenizerKernel.class);
+	}
+
+	/**
+	 * Splits pages parsed through jsoup into words a text block at a
+	 * time, reusing the words of blocks repeated across articles from
+	 * a {@link BlockCache} shared by all threads.
+	 * @param capacity The number of blocks to cache, or 0 for no cache.
+	 */
+	public void setBlockCache(int capacity) {
+		blockCache = capacity > 0 ? new BlockCache(capacity) : null;
+	}
+
+	/**
+	 * Counts the most common words apart from the others, in a
+	 * {@link HotWordTable} with plain int counters per thread. The
+	 * words are the most common of the cumulative results, from the
+	 * summary of the {@link CumulativeStore} and so at most
+	 * {@link CumulativeStore#SUMMARY_WORDS}, when there are any, or
+	 * else {@link HotWordTable#BUILT_IN}.
+	 * @param numHotWords The number of hot words, or 0 for none.
+	 */
+	public void setHotWords(int numHotWords) {
+		this.numHotWords = numHotWords;
+	}
+
+	/**
+	 * Builds the {@link HotWordTable} and gives every thread a counter.
+	 */
+	private void createHotWords() {
+		String[] hotWords = null;
+		if (cumulative)
+			try {
+				hotWords = cumulativeStore.readHotWords(numHotWords);
+			}	catch (IOException e) {
+				System.err.printf("Failed reading hot words, using the built-in ones: %s\n", e.getMessage());
+			}
+		if (hotWords == null)
+			hotWords = Arrays.copyOf(HotWordTable.BUILT_IN, Math.min(numHotWords, HotWordTable.BUILT_IN.length));
+		hotWordTable = new HotWordTable(hotWords);
+		for (int i = 0; i < wikipediaWordsThreads.length; i++)
+			wikipediaWordsThreads[i].setHotWords(new HotWordCounter(hotWordTable));
+	}
+
+	/**
+	 * Creates the {@link ArticleSource} for a single thread.
+	 * @return a new {@link ArticleSource} of the configured source.
+	 */
+	public ArticleSource createArticleSource() {
+		if (source.equals(SOURCE_API))
+			return new ApiArticleSource(fetchScheduler, apiURL, batchSize);
+		if (source.equals(SOURCE_CRAWL))
+			return new CrawlArticleSource(fetchScheduler, frontier, randomArticleURL, blockCache);
+		if (source.equals(SOURCE_DUMP))
+			return new DumpArticleSource(dumpReader);
+		int maxTableWords = ByteWordTable.DEFAULT_MAX_WORDS;
+		if (memoryBudget > 0)
+			maxTableWords = Math.min(maxTableWords, Math.max(1, memoryBudget / wikipediaWordsThreads.length));
+		return new RandomArticleSource(fetchScheduler, randomArticleURL, byteTokenizer ? tokenizerKernel : null, blockCache, maxTableWords);
+	}
+
+	/**
+	 * Returns the {@link FetchScheduler} shared by all threads.
+	 * @return the shared fetch scheduler.
+	 */
+	public FetchScheduler getFetchScheduler() {
+		return fetchScheduler;
+	}
+
 	/**
 	 * Runs the program, creating and starting the threads.
 	 */
@@ -54,28 +338,90 @@ public class WikipediaWordsRunner {
 		System.out.println();
 		startTime = System.nanoTime();
 		if (cumulative) {
-			System.out.printf("%-30s", "Loading previous results...");
-			if (OpenFile.fileExists("results/cumulative-results.txt"))
-				loadResultsFromFile("results/cumulative-results.txt", true);
-			elapsedTime = (System.nanoTime() - startTime) / 1E9;
-			System.out.printf("Done loading in %.1f seconds!\n", elapsedTime);
+			System.out.printf("%-30s", "Opening cumulative results...");
+			try {
+				cumulativeStore = new CumulativeStore(CumulativeStore.DIRECTORY);
+				elapsedTime = (System.nanoTime() - startTime) / 1E9;
+				System.out.printf("Done opening %d segments in %.1f seconds!\n", cumulativeStore.getSegmentCount(), elapsedTime);
+			}	catch (IOException e) {
+				System.out.printf("Failed, not saving cumulatively: %s\n", e.getMessage());
+				cumulative = false;
+			}
 		}
-		System.out.printf("%-30s", "Parsing random articles...");
+		if (numHotWords > 0)
+			createHotWords();
+		if (source.equals(SOURCE_CRAWL))
+			frontier = new CrawlFrontier(frontierMemory);
+		if (source.equals(SOURCE_DUMP))
+			dumpReader.start();
+		if (liveSnapshot != null) {
+			liveSnapshot.setMemoryBudget(memoryBudget);
+			liveSnapshot.start(snapshotInterval);
+		}
+		System.out.printf("%-30s", source.equals(SOURCE_CRAWL) ? "Crawling articles..." : source.equals(SOURCE_DUMP) ? "Parsing dump articles..." : "Parsing random articles...");
 		for (int i = 0; i < wikipediaWordsThreads.length; i++)
 			wikipediaWordsThreads[i].start();
 	}
 
+	/**
+	 * Waits for every thread to finish and the results to be
+	 * loaded, saved and printed.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	public void waitForCompletion() throws InterruptedException {
+		for (int i = 0; i < wikipediaWordsThreads.length; i++)
+			wikipediaWordsThreads[i].waitForCompletion();
+	}
+
+	public int getArticlesParsed() {
+		return articlesParsed;
+	}
+
+	public int getInvalidArticles() {
+		return invalidArticles;
+	}
+
+	public int getFetchFailures() {
+		return fetchFailures;
+	}
+
+	/**
+	 * Returns the time from starting the run to printing the results.
+	 * @return the elapsed time in seconds.
+	 */
+	public double getElapsedTime() {
+		return elapsedTime;
+	}
+
+	/**
+	 * Returns the time from starting the run to the last thread
+	 * finishing parsing, leaving out writing and merging the results.
+	 * @return the parse time in seconds.
+	 */
+	public double getParseTime() {
+		return parseTime;
+	}
+
 	/**
 	 * Called by individual threads to notify completion of
 	 * parsing articles (after specified time).
-	 * @param articlesParsed The number of articles successfully
-	 *                       parsed by the thread.
+	 * @param articlesParsed  The number of articles successfully
+	 *                        parsed by the thread.
+	 * @param invalidArticles The number of fetched pages that were
+	 *                        not valid articles.
+	 * @param fetchFailures   The number of pages that could not be
+	 *                        fetched at all.
 	 */
-	public synchronized void DoneParsing(int articlesParsed) {
+	public synchronized void DoneParsing(int articlesParsed, int invalidArticles, int fetchFailures) {
 		this.articlesParsed += articlesParsed;
+		this.invalidArticles += invalidArticles;
+		this.fetchFailures += fetchFailures;
 		threadsParsed++;
 		double elapsedTime = (System.nanoTime() - startTime) / 1E9;
 		if (threadsParsed == wikipediaWordsThreads.length) {
+			parseTime = elapsedTime;
+			if (liveSnapshot != null)
+				liveSnapshot.stop();
 			System.out.printf("Done parsing in %.1f seconds!\n", elapsedTime);
 			System.out.printf("%-30s", "Writing results...");
 		}
@@ -89,44 +435,138 @@ public class WikipediaWordsRunner {
 		threadsWritten++;
 		double elapsedTime = (System.nanoTime() - startTime) / 1E9;
 		if (threadsWritten == wikipediaWordsThreads.length) {
+			if (windowTimer != null)
+				windowTimer.cancel();
 			System.out.printf("Done writing in %.1f seconds!\n", elapsedTime);
-			System.out.printf("%-30s", "Loading results...");
-			loadResultsFromFiles();
-			this.elapsedTime = (System.nanoTime() - startTime) / 1E9;
-			System.out.printf("Done loading in %.1f seconds!\n", this.elapsedTime);
+			if (memoryBudget > 0) {
+				System.out.printf("%-30s", "Merging results...");
+				PhaseEvent event = startPhase("merge");
+				mergeResultsFromFiles();
+				event.commit();
+				this.elapsedTime = (System.nanoTime() - startTime) / 1E9;
+				System.out.printf("Done merging in %.1f seconds!\n", this.elapsedTime);
+			}	else {
+				System.out.printf("%-30s", "Loading results...");
+				PhaseEvent event = startPhase("load");
+				loadResultsFromFiles();
+				event.commit();
+				this.elapsedTime = (System.nanoTime() - startTime) / 1E9;
+				System.out.printf("Done loading in %.1f seconds!\n", this.elapsedTime);
+			}
 			System.out.printf("%-30s", "Cleaning up...");
+			PhaseEvent event = startPhase("clean-up");
 			cleanUp();
+			event.commit();
 			this.elapsedTime = (System.nanoTime() - startTime) / 1E9;
 			System.out.printf("Done cleaning in %.1f seconds!\n", this.elapsedTime);
 			if (cumulative) {
-				System.out.printf("%-30s", "Saving to cumulative file...");
-				saveToCumulativeFile();
+				System.out.printf("%-30s", "Saving to cumulative store...");
+				event = startPhase("save-cumulative");
+				saveToCumulativeStore();
+				event.commit();
 				this.elapsedTime = (System.nanoTime() - startTime) / 1E9;
 				System.out.printf("Done saving in %.1f seconds!\n", this.elapsedTime);
-
+				if (saveToFile || queries != null) {
+					System.out.printf("%-30s", "Merging cumulative results...");
+					event = startPhase("merge-cumulative");
+					mergeCumulativeResults();
+					event.commit();
+					this.elapsedTime = (System.nanoTime() - startTime) / 1E9;
+					System.out.printf("Done merging in %.1f seconds!\n", this.elapsedTime);
+				}	else
+					loadCumulativeSummary();
 			}
 			if (saveToFile) {
 				System.out.printf("%-30s", "Saving results to file...");
+				event = startPhase("save");
+				if (memoryBudget > 0 || cumulative)
+					loadResultsFromFile(MERGED_PATH, true);
 				saveToFile();
+				event.commit();
 				this.elapsedTime = (System.nanoTime() - startTime) / 1E9;
 				System.out.printf("Done saving in %.1f seconds!\n", this.elapsedTime);
+			}	else if (queries != null && (memoryBudget > 0 || cumulative)) {
+				System.out.printf("%-30s", "Loading merged results...");
+				event = startPhase("load");
+				loadResultsFromFile(MERGED_PATH, true);
+				event.commit();
+				this.elapsedTime = (System.nanoTime() - startTime) / 1E9;
+				System.out.printf("Done loading in %.1f seconds!\n", this.elapsedTime);
 			}
+			if (memoryBudget > 0 || cumulative)
+				OpenFile.deleteFile(MERGED_PATH);
 			printResults();
+			if (cumulative && cumulativeStore.startCompaction())
+				System.out.printf("Compacting %d cumulative segments in the background...\n", cumulativeStore.getSegmentCount());
 		}
 	}
 
 	/**
-	 * Function used to save the results from the lists
-	 * to a file.
+	 * Begins a {@link PhaseEvent}, to be committed when the phase ends.
+	 * @param  phase The name of the phase.
+	 * @return       The begun event.
+	 */
+	private static PhaseEvent startPhase(String phase) {
+		PhaseEvent event = new PhaseEvent(phase);
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Appends the results of this run, and only this run, to the
+	 * {@link CumulativeStore} as a new segment.
 	 */
-	private void saveToCumulativeFile() {
-		BufferedWriter bufferedWriter = OpenFile.openFileToWriter("results/cumulative-results.txt");
-		saveListToFile(bufferedWriter, wordsList);
-		saveListToFile(bufferedWriter, headingsList);
-		saveListToFile(bufferedWriter, titleWordList);
+	private void saveToCumulativeStore() {
+		String deltaPath = MERGED_PATH;
+		if (memoryBudget == 0) {
+			deltaPath = DELTA_PATH;
+			BufferedWriter bufferedWriter = OpenFile.openFileToWriter(deltaPath);
+			saveListToFile(bufferedWriter, wordsList);
+			saveListToFile(bufferedWriter, headingsList);
+			saveListToFile(bufferedWriter, titleWordList);
+			saveListToFile(bufferedWriter, documentFrequencyList);
+			try {
+				bufferedWriter.close();
+			}	catch (IOException e) {}
+		}
 		try {
-			bufferedWriter.close();
-		}	catch (IOException e) {}
+			cumulativeStore.append(deltaPath);
+		}	catch (IOException e) {
+			System.err.printf("Failed saving cumulative results: %s\n", e.getMessage());
+		}
+	}
+
+	/**
+	 * Merges every segment of the {@link CumulativeStore} into the
+	 * merged results file, keeping the top words of all runs so far.
+	 * Only needed when the full totals are saved or queried.
+	 */
+	private void mergeCumulativeResults() {
+		try {
+			WordList[] topWords = cumulativeStore.merge(MERGED_PATH, 10);
+			wordsList = topWords[0];
+			headingsList = topWords[1];
+			titleWordList = topWords[2];
+			documentFrequencyList = topWords[3];
+		}	catch (IOException e) {
+			System.err.printf("Failed merging cumulative results: %s\n", e.getMessage());
+		}
+	}
+
+	/**
+	 * Takes the top words of all runs so far from the summary of the
+	 * {@link CumulativeStore}, without merging its segments.
+	 */
+	private void loadCumulativeSummary() {
+		try {
+			WordList[] topWords = cumulativeStore.getSummary(10);
+			wordsList = topWords[0];
+			headingsList = topWords[1];
+			titleWordList = topWords[2];
+			documentFrequencyList = topWords[3];
+		}	catch (IOException e) {
+			System.err.printf("Failed reading cumulative summary: %s\n", e.getMessage());
+		}
 	}
 
 	/**
@@ -144,16 +584,31 @@ public class WikipediaWordsRunner {
 		}	catch (IOException e) {}
 	}
 
+	/**
+	 * Saves the top words of the sliding windows to a file.
+	 */
+	private void saveWindowToFile() {
+		String window = String.format("in the last %,.0f seconds", windowedWordsList.getWindowSeconds());
+		OpenFile.writeToFile("results/window-results.txt", String.format("Top 25 words %s:\n%s\nTop 25 headings %s:\n%s\nTop 25 title words %s:\n%s",
+			window, windowedWordsList.toString(25), window, windowedHeadingsList.toString(25), window, windowedTitleWordList.toString(25)));
+	}
+
 	/**
 	 * Saves the results of program execution to files.
 	 */
 	private void saveToFile() {
 		String duplicatePrevention = "";
+		try {
+			TfIdfExporter.export(String.format("results/tf-idf%s.txt", duplicatePrevention), wordsList, documentFrequencyList, 100);
+		}	catch (IOException e) {
+			System.err.printf("Failed saving tf-idf: %s\n", e.getMessage());
+		}
 		// // Prevents duplicates
 		// for (int i = 0; OpenFile.fileExists(String.format("results/article-words%s.txt", duplicatePrevention)); i++, duplicatePrevention = String.format("(%d)", i));
 		saveListToOutput(String.format("results/article-words%s.txt", duplicatePrevention), wordsList.sortOccurences(), "Words in article:");
 		saveListToOutput(String.format("results/headings%s.txt", duplicatePrevention), headingsList.sortOccurences(), "Headings:");
 		saveListToOutput(String.format("results/title-words%s.txt", duplicatePrevention), titleWordList.sortOccurences(), "Words in titles:");
+		saveListToOutput(String.format("results/document-frequencies%s.txt", duplicatePrevention), documentFrequencyList.sortOccurences(), "Articles containing word:");
 	}
 
 	/**
@@ -178,7 +633,12 @@ public class WikipediaWordsRunner {
 	 */
 	private void cleanUp() {
 		for (int i = 0; i < wikipediaWordsThreads.length; i++)
-			OpenFile.deleteFile(wikipediaWordsThreads[i].getFileName());
+			for (String runFile : wikipediaWordsThreads[i].getRunFiles())
+				OpenFile.deleteFile(runFile);
+		if (frontier != null)
+			frontier.close();
+		if (dumpReader != null)
+			dumpReader.close();
 	}
 
 	/**
@@ -191,11 +651,34 @@ public class WikipediaWordsRunner {
 			loadResultsFromFile(wikipediaWordsThreads[i].getFileName(), false);
 	}
 
+	/**
+	 * Combines the run files of all {@link WikipediaWordsThread}s
+	 * into a single results file with a streaming k-way merge. Only
+	 * the top words of each list are kept in memory afterwards.
+	 */
+	private void mergeResultsFromFiles() {
+		ArrayList<String> runFiles = new ArrayList<String>();
+		for (int i = 0; i < wikipediaWordsThreads.length; i++)
+			runFiles.addAll(wikipediaWordsThreads[i].getRunFiles());
+		try {
+			WordList[] topWords = WordListMerger.merge(runFiles, MERGED_PATH, CumulativeStore.NUM_SECTIONS, 10);
+			wordsList = topWords[0];
+			headingsList = topWords[1];
+			titleWordList = topWords[2];
+			documentFrequencyList = topWords[3];
+		}	catch (IOException e) {
+			System.err.printf("Failed merging results: %s\n", e.getMessage());
+		}
+	}
+
 	private void loadResultsFromFile(String filePath, boolean overrideList) {
 		BufferedReader reader = OpenFile.openFileToReader(filePath);
 		wordsList = loadResultFromFile(reader, wordsList, overrideList);
+		if (frequencyIndex != null && wordsList.getFrequencyIndex() == null)
+			wordsList.setFrequencyIndex(frequencyIndex);
 		headingsList = loadResultFromFile(reader, headingsList, overrideList);
 		titleWordList = loadResultFromFile(reader, titleWordList, overrideList);
+		documentFrequencyList = loadResultFromFile(reader, documentFrequencyList, overrideList);
 		try {
 			reader.close();
 		}	catch (IOException e) {}
@@ -208,11 +691,16 @@ public class WikipediaWordsRunner {
 	 * @param reader         A {@link BufferedReader} used to load results
 	 *                       from a file.
 	 * @param wordsList A {@link WordList} array of words to save to.
+	 * @return          The loaded list, which is left as is (or empty, if
+	 *                  overriding) for files saved without this section.
 	 */
 	private WordList loadResultFromFile(BufferedReader reader, WordList wordsList, boolean overrideList) {
 		try {
 			WordList tempList = wordsList;
-			int numWords = Integer.parseInt(reader.readLine());
+			String numWordsLine = reader.readLine();
+			if (numWordsLine == null)
+				return overrideList ? new WordList() : tempList;
+			int numWords = Integer.parseInt(numWordsLine);
 			if (overrideList)
 				tempList = new WordList(numWords);
 			int currIndex = 0;
@@ -225,16 +713,75 @@ public class WikipediaWordsRunner {
 		return null;
 	}
 
+	/**
+	 * Answers the queries from the {@link FrequencyIndex} of the words.
+	 * @return the answers, one per line.
+	 */
+	private String answerQueries() {
+		String output = "";
+		for (String query : queries) {
+			query = query.trim();
+			try {
+				if (query.startsWith(">=")) {
+					int count = Integer.parseInt(query.substring(2));
+					output += String.format("%30s - %,d words\n", query, frequencyIndex.getWordsAtLeast(count));
+				}	else if (query.startsWith("top")) {
+					long numWords = Long.parseLong(query.substring(3));
+					output += String.format("%30s - %.2f%% of %,d tokens\n", query, frequencyIndex.getCoverage(numWords), frequencyIndex.getTokens());
+				}	else if (query.endsWith("%")) {
+					double percent = Double.parseDouble(query.substring(0, query.length() - 1));
+					output += String.format("%30s - %,d words\n", query, frequencyIndex.getWordsToCover(percent));
+				}	else throw new NumberFormatException();
+			}	catch (NumberFormatException e) {
+				String word = query.toLowerCase();
+				int count = frequencyIndex.getCount(word);
+				output += String.format("%30s - %,d, rank %,d of %,d, percentile %.1f\n", word, count, frequencyIndex.getRank(word), frequencyIndex.size(), frequencyIndex.getPercentile(count));
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Prints the share of tokens counted as hot words.
+	 */
+	private void printHotWords() {
+		long hotTokens = 0, tokens = 0;
+		for (int i = 0; i < wikipediaWordsThreads.length; i++) {
+			HotWordCounter hotWords = wikipediaWordsThreads[i].getHotWords();
+			hotTokens += hotWords.getHotTokens();
+			tokens += hotWords.getTokens();
+		}
+		System.out.printf("Counted %.1f%% of %,d words through %,d hot words!\n", tokens == 0 ? 0 : 100.0 * hotTokens / tokens, tokens, hotWordTable.size());
+	}
+
 	/**
 	 * Prints top 10 results for words of all parsed articles.
 	 */
 	private void printResults() {
 		System.out.printf("\nParsed %,d articles in %,.1f seconds!\n", articlesParsed, elapsedTime);
-		System.out.printf("Parsed %,.2f articles per second!\n\n", articlesParsed / elapsedTime);
+		System.out.printf("Parsed %,.2f articles per second!\n", articlesParsed / elapsedTime);
+		System.out.printf("Skipped %,d invalid articles and %,d failed fetches (%,d throttled)!\n", invalidArticles, fetchFailures, fetchScheduler.getThrottledCount());
+		if (frontier != null)
+			System.out.printf("Crawl found %,d articles, %,d still pending, %,d lost to spill failures!\n", frontier.getVisitedCount(), frontier.size(), frontier.getDroppedCount());
+		if (blockCache != null)
+			System.out.printf("Block cache hit %.1f%% of %,d blocks, a net saving of about %.2f CPU seconds!\n", blockCache.getHitRate() * 100, blockCache.getLookups(), blockCache.getSavedSeconds());
+		if (hotWordTable != null)
+			printHotWords();
+		if (liveSnapshot != null)
+			System.out.printf("Took %,d live snapshots, the last of %,d articles!\n", liveSnapshot.getSnapshots(), liveSnapshot.getArticles());
+		if (dumpReader != null)
+			System.out.printf("Read %,d dump records%s!\n", dumpReader.getRecordsRead(), dumpReader.isExhausted() ? ", the whole dump" : "");
+		System.out.println();
 
 		System.out.printf("Top 10 words:\n%s\n", wordsList.toString(10));
 		System.out.printf("Top 10 headings:\n%s\n", headingsList.toString(10));
 		System.out.printf("Top 10 title words:\n%s\n", titleWordList.toString(10));
+		if (queries != null)
+			System.out.printf("Queries:\n%s\n", answerQueries());
+		if (windowedWordsList != null) {
+			saveWindowToFile();
+			System.out.printf("Top 10 words in the last %,.0f seconds:\n%s\n", windowedWordsList.getWindowSeconds(), windowedWordsList.toString(10));
+		}
 		OpenFile.appendToFile("results/threads.txt", String.format("%,d threads\t%,.0f seconds\t%,.1f articles per second\n", wikipediaWordsThreads.length, elapsedTime, articlesParsed / elapsedTime));
 	}
 }
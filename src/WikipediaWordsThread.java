@@ -1,6 +1,6 @@
 import java.io.BufferedWriter;
 import java.io.IOException;
-import org.jsoup.nodes.Document;
+import java.util.ArrayList;
 
 /**
  * WikipediaWordsThread
@@ -17,14 +17,24 @@ class WikipediaWordsThread extends Thread {
 	private WordList wordsList;
 	private WordList headingsList;
 	private WordList titleWordList;
+	private DocumentFrequencyCounter documentFrequencies;
 	private int      articlesParsed;
+	private int      invalidArticles;
+	private int      fetchFailures;
+	private int      consecutiveFailures;
+	private int      memoryBudget;
+	private ArrayList<String> runFiles;
+	private SnapshotBuffer snapshotBuffer;
+	private HotWordCounter hotWords;
 
 	private WikipediaWordsRunner runner;
+	private ArticleSource source;
 	private Thread thread;
 	private int    threadNum;
 	private String threadName;
 	private String threadPath;
 	private double runTime;
+	private long   deadline;
 
 	/**
 	 * Constructor with an instance of a {@link WikipediaWordsRunner} runner,
@@ -45,7 +55,47 @@ class WikipediaWordsThread extends Thread {
 		wordsList = new WordList();
 		headingsList = new WordList();
 		titleWordList = new WordList();
-		articlesParsed = 0;
+		documentFrequencies = new DocumentFrequencyCounter();
+		articlesParsed = invalidArticles = fetchFailures = consecutiveFailures = 0;
+		memoryBudget = 0;
+		runFiles = new ArrayList<String>();
+	}
+
+	/**
+	 * Limits the number of distinct entries this thread keeps in
+	 * memory. Once exceeded, the lists are spilled to a run file.
+	 * @param memoryBudget The maximum number of entries, or 0 for no limit.
+	 */
+	public void setMemoryBudget(int memoryBudget) {
+		this.memoryBudget = memoryBudget;
+	}
+
+	/**
+	 * Makes this thread add every parsed article to a buffer that
+	 * live snapshots are taken from.
+	 * @param snapshotBuffer The buffer, or null to not take part in snapshots.
+	 */
+	public void setSnapshotBuffer(SnapshotBuffer snapshotBuffer) {
+		this.snapshotBuffer = snapshotBuffer;
+	}
+
+	/**
+	 * Makes this thread count the hot words of every article apart
+	 * from the other words, folding them into the words list before
+	 * it is saved.
+	 * @param hotWords This thread's counter, or null to count every
+	 *                 word in the list.
+	 */
+	public void setHotWords(HotWordCounter hotWords) {
+		this.hotWords = hotWords;
+	}
+
+	/**
+	 * Returns this thread's counter of hot words.
+	 * @return the counter, or null if there is none.
+	 */
+	public HotWordCounter getHotWords() {
+		return hotWords;
 	}
 
 	/**
@@ -53,22 +103,32 @@ class WikipediaWordsThread extends Thread {
 	 * articles and saving the results to a file.
 	 */
 	public void run() {
-		for (double startTime = System.nanoTime(), elapsedTime = 0; elapsedTime < runTime; elapsedTime = (System.nanoTime() - startTime) / 1E9, articlesParsed++)
+		source = runner.createArticleSource();
+		deadline = runTime * 1E9 < Long.MAX_VALUE / 2 ? System.nanoTime() + (long) (runTime * 1E9) : Long.MAX_VALUE;
+		for (double startTime = System.nanoTime(), elapsedTime = 0; elapsedTime < runTime && source.hasNext(); elapsedTime = (System.nanoTime() - startTime) / 1E9, articlesParsed++)
 			parseRandomArticle();
-		runner.DoneParsing(articlesParsed);
-		saveResultsToFile();
+		runner.DoneParsing(articlesParsed, invalidArticles, fetchFailures);
+		PhaseEvent event = new PhaseEvent("write");
+		event.begin();
+		saveResultsToFile(threadPath);
+		event.commit();
+		runFiles.add(threadPath);
 		runner.DoneWriting();
 	}
 
 	/**
 	 * Function used to save the results from the lists
 	 * to a file.
+	 * @param path The path of the file to save to.
 	 */
-	private void saveResultsToFile() {
-		BufferedWriter bufferedWriter = OpenFile.openFileToWriter(threadPath);
+	private void saveResultsToFile(String path) {
+		if (hotWords != null)
+			hotWords.foldInto(wordsList);
+		BufferedWriter bufferedWriter = OpenFile.openFileToWriter(path);
 		saveListToFile(bufferedWriter, wordsList);
 		saveListToFile(bufferedWriter, headingsList);
 		saveListToFile(bufferedWriter, titleWordList);
+		saveListToFile(bufferedWriter, documentFrequencies.toWordList());
 		try {
 			bufferedWriter.close();
 		}	catch (IOException e) {}
@@ -100,26 +160,64 @@ class WikipediaWordsThread extends Thread {
 	}
 
 	/**
-	 * Parses a random Wikipedia article using {@link WikipediaPage}
+	 * Waits for this thread to finish parsing and writing
+	 * its results.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	public void waitForCompletion() throws InterruptedException {
+		if (thread != null)
+			thread.join();
+	}
+
+	/**
+	 * Parses the next article of this thread's {@link ArticleSource}
 	 * and saves the parsed results to a {@link WordList} object.
+	 * Failed fetches are counted apart from invalid articles and
+	 * make this thread back off before trying again.
 	 */
 	private void parseRandomArticle() {
-		Document doc = getRandomWikipediaArticle();
-		WikipediaPage wikipediaPage = new WikipediaPage(doc);
+		WikipediaPage wikipediaPage = source.nextPage();
+		if (wikipediaPage == null) {
+			articlesParsed--;
+			if (!source.hasNext())
+				return;
+			fetchFailures++;
+			runner.getFetchScheduler().backoff(++consecutiveFailures, deadline);
+			return;
+		}
+		consecutiveFailures = 0;
 		if (wikipediaPage.isValid()) {
-			wordsList.addWords(wikipediaPage.getWordsLowercase());
+			String[] titleWords = wikipediaPage.getTitle().toLowerCase().split(" ");
+			wordsList.addWords(hotWords != null ? hotWords.count(wikipediaPage.getWordsLowercase()) : wikipediaPage.getWordsLowercase());
 			headingsList.addWords(wikipediaPage.getHeadings());
-			titleWordList.addWords(wikipediaPage.getTitle().toLowerCase().split(" "));
-		}	else articlesParsed--;
+			titleWordList.addWords(titleWords);
+			documentFrequencies.addDocument(wikipediaPage.getWordsLowercase());
+			runner.addToWindow(wikipediaPage.getWordsLowercase(), wikipediaPage.getHeadings(), titleWords);
+			if (snapshotBuffer != null)
+				snapshotBuffer.add(wikipediaPage.getWordsLowercase(), wikipediaPage.getHeadings(), titleWords);
+			if (memoryBudget > 0 && wordsList.size() + headingsList.size() + titleWordList.size() + documentFrequencies.size() > memoryBudget)
+				spillResults();
+		}	else {
+			invalidArticles++;
+			articlesParsed--;
+		}
 	}
 
 	/**
-	 * Gets a random Wikipedia article by going to Wikipedia's
-	 * Special:Random page.
-	 * @return a {@link Document} object for the article.
+	 * Saves the lists, which are already sorted alphabetically,
+	 * to a new run file and starts over with empty lists.
 	 */
-	public static Document getRandomWikipediaArticle() {
-		return PageLoader.getDocument("https://en.wikipedia.org/wiki/Special:Random");
+	private void spillResults() {
+		String runPath = String.format("results/%s.run-%d.txt", threadName, runFiles.size());
+		PhaseEvent event = new PhaseEvent("spill");
+		event.begin();
+		saveResultsToFile(runPath);
+		event.commit();
+		runFiles.add(runPath);
+		wordsList = new WordList();
+		headingsList = new WordList();
+		titleWordList = new WordList();
+		documentFrequencies.clear();
 	}
 
 	/**
@@ -130,4 +228,13 @@ class WikipediaWordsThread extends Thread {
 	public String getFileName() {
 		return threadPath;
 	}
+
+	/**
+	 * Gets the paths of every file this thread saved results to,
+	 * the spilled run files followed by the final results file.
+	 * @return the paths of the run files.
+	 */
+	public ArrayList<String> getRunFiles() {
+		return runFiles;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,225 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * WindowedWordList
+ * Counts words over a sliding time window made of a ring of
+ * per-interval segments (for example one per minute). When an
+ * interval expires its segment is subtracted from the running
+ * totals word by word, so the cost of moving the window is the
+ * size of the expired delta and not of the whole vocabulary.
+ * The totals are also kept ranked, making "top words in the
+ * last N minutes" a walk over the first few entries.
+ *
+ * Only words seen inside the window are kept, so memory stays
+ * bounded by the amount of text that fits in the window.
+ *
+ * Every thread counts its articles into its own map for the current
+ * interval, locking only that map, and merges it into the shared
+ * segments and ranking once the interval has passed or when the top
+ * words are asked for, so the shared lock is not taken per article.
+ *
+ * @since October 2026
+ */
+class WindowedWordList {
+
+	/**
+	 * The counts of a single thread for one interval.
+	 */
+	private static class Pending {
+
+		private long interval;
+		private HashMap<String, Integer> counts;
+
+		Pending(long interval) {
+			this.interval = interval;
+			counts = new HashMap<String, Integer>();
+		}
+	}
+
+	private HashMap<String, Integer>[] segments;
+	private HashMap<String, WordHistogram> totals;
+	private TreeSet<WordHistogram> ranking;
+	private long intervalNanos;
+	private long startTime;
+	private long currentInterval;
+	private ArrayList<Pending> pending;
+	private ThreadLocal<Pending> threadPending;
+
+	/**
+	 * Constructor with the number of intervals in the window and
+	 * the length of each interval.
+	 * @param numIntervals    The number of segments in the window.
+	 * @param intervalSeconds The length of a single segment in seconds.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public WindowedWordList(int numIntervals, double intervalSeconds) {
+		segments = new HashMap[Math.max(1, numIntervals)];
+		for (int i = 0; i < segments.length; i++)
+			segments[i] = new HashMap<String, Integer>();
+		totals = new HashMap<String, WordHistogram>();
+		ranking = new TreeSet<WordHistogram>(new Comparator<WordHistogram>() {
+			@Override
+			public int compare(WordHistogram word1, WordHistogram word2) {
+				if (word1.getOccurrences() != word2.getOccurrences())
+					return word2.getOccurrences() > word1.getOccurrences() ? 1 : -1;
+				return word1.compareTo(word2);
+			}
+		});
+		intervalNanos = Math.max(1, (long) (intervalSeconds * 1E9));
+		startTime = System.nanoTime();
+		currentInterval = 0;
+		pending = new ArrayList<Pending>();
+		threadPending = new ThreadLocal<Pending>() {
+			@Override
+			protected Pending initialValue() {
+				Pending threadCounts = new Pending(getInterval());
+				synchronized (WindowedWordList.this) {
+					pending.add(threadCounts);
+				}
+				return threadCounts;
+			}
+		};
+	}
+
+	/**
+	 * Adds the words of one article to the current interval.
+	 * @param words the array of words to add.
+	 */
+	public void addWords(String[] words) {
+		Pending threadCounts = threadPending.get();
+		if (threadCounts.interval != getInterval())
+			synchronized (this) {
+				rotate();
+				merge(threadCounts);
+			}
+		synchronized (threadCounts) {
+			for (String word : words) {
+				Integer count = threadCounts.counts.get(word);
+				threadCounts.counts.put(word, count == null ? 1 : count + 1);
+			}
+		}
+	}
+
+	/**
+	 * Finds the numWords most common words inside the window.
+	 * @param  numWords A number of words to find.
+	 * @return          An {@link ArrayList} of {@link WordHistogram}s
+	 *                  containing copies of the words in order.
+	 */
+	public synchronized ArrayList<WordHistogram> getTopWords(int numWords) {
+		rotate();
+		mergeAll();
+		ArrayList<WordHistogram> topWords = new ArrayList<WordHistogram>(numWords);
+		for (WordHistogram word : ranking) {
+			if (topWords.size() == numWords)
+				break;
+			topWords.add(new WordHistogram(word.getWord(), word.getOccurrences()));
+		}
+		return topWords;
+	}
+
+	/**
+	 * Prints the first numWords most common words inside the window.
+	 * @param  numWords A number of words to print.
+	 * @return          String list of the words.
+	 */
+	public String toString(int numWords) {
+		String output = "";
+		for (WordHistogram word : getTopWords(numWords))
+			output += word + "\n";
+		return output;
+	}
+
+	/**
+	 * Returns the number of distinct words inside the window.
+	 * @return the number of distinct words.
+	 */
+	public synchronized int size() {
+		rotate();
+		mergeAll();
+		return totals.size();
+	}
+
+	/**
+	 * Returns the length of the whole window in seconds.
+	 * @return the window length in seconds.
+	 */
+	public double getWindowSeconds() {
+		return segments.length * intervalNanos / 1E9;
+	}
+
+	/**
+	 * Moves the window up to the current time, subtracting every
+	 * segment that fell out of it from the totals.
+	 */
+	private void rotate() {
+		long interval = getInterval();
+		if (interval - currentInterval > segments.length)
+			currentInterval = interval - segments.length;
+		while (currentInterval < interval) {
+			currentInterval++;
+			HashMap<String, Integer> expired = segments[(int) (currentInterval % segments.length)];
+			for (Map.Entry<String, Integer> entry : expired.entrySet())
+				adjust(entry.getKey(), -entry.getValue());
+			expired.clear();
+		}
+	}
+
+	private long getInterval() {
+		return (System.nanoTime() - startTime) / intervalNanos;
+	}
+
+	/**
+	 * Merges the counts of every thread into the segments.
+	 */
+	private void mergeAll() {
+		for (Pending threadCounts : pending)
+			merge(threadCounts);
+	}
+
+	/**
+	 * Merges the counts of a thread into the segment of their interval,
+	 * unless it already left the window, and starts the thread over in
+	 * the current interval. Must hold the lock of this list, and be
+	 * called right after {@link #rotate()}.
+	 * @param threadCounts The counts of the thread.
+	 */
+	private void merge(Pending threadCounts) {
+		synchronized (threadCounts) {
+			if (threadCounts.interval > currentInterval - segments.length) {
+				HashMap<String, Integer> segment = segments[(int) (threadCounts.interval % segments.length)];
+				for (Map.Entry<String, Integer> entry : threadCounts.counts.entrySet()) {
+					Integer count = segment.get(entry.getKey());
+					segment.put(entry.getKey(), count == null ? entry.getValue() : count + entry.getValue());
+					adjust(entry.getKey(), entry.getValue());
+				}
+			}
+			threadCounts.counts.clear();
+			threadCounts.interval = currentInterval;
+		}
+	}
+
+	/**
+	 * Changes the total of a word, keeping the ranking sorted.
+	 * @param word  The word to change.
+	 * @param delta The amount to add to the word's total.
+	 */
+	private void adjust(String word, int delta) {
+		WordHistogram total = totals.get(word);
+		if (total == null) {
+			total = new WordHistogram(word, delta);
+			totals.put(word, total);
+			ranking.add(total);
+			return;
+		}
+		ranking.remove(total);
+		total.incrementOccurences(delta);
+		if (total.getOccurrences() > 0)
+			ranking.add(total);
+		else totals.remove(word);
+	}
+}
@@ -0,0 +1,27 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * WordCountEvent
+ * A Java Flight Recorder event spanning the counting of an article's
+ * words into a {@link WordList}.
+ *
+ * @since October 2026
+ */
+@Name("wikipediawords.WordCount")
+@Label("Word Count")
+@Category("WikipediaWords")
+@Description("Words of an article added to a word list")
+class WordCountEvent extends Event {
+
+	@Label("Words")
+	@Description("Number of words added")
+	int words;
+
+	@Label("List Size")
+	@Description("Distinct words in the list afterwards")
+	int listSize;
+}
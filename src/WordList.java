@@ -13,6 +13,8 @@ import java.util.Comparator;
  */
 class WordList extends ArrayList<WordHistogram> {
 
+	private FrequencyIndex frequencyIndex;
+
 	/**
 	 * The defaults constructor calling the
 	 * {@link ArrayList} constructor.
@@ -25,6 +27,30 @@ class WordList extends ArrayList<WordHistogram> {
 		super(capacity);
 	}
 
+	/**
+	 * Keeps a {@link FrequencyIndex} of this list's counts up to
+	 * date from now on, starting it over with the words already in
+	 * the list. Only words added through this class's methods are
+	 * indexed.
+	 * @param frequencyIndex The index to keep, or null for none.
+	 */
+	public void setFrequencyIndex(FrequencyIndex frequencyIndex) {
+		this.frequencyIndex = frequencyIndex;
+		if (frequencyIndex == null)
+			return;
+		frequencyIndex.clear();
+		for (WordHistogram word : this)
+			frequencyIndex.add(word.getWord(), word.getOccurrences());
+	}
+
+	/**
+	 * Returns the {@link FrequencyIndex} kept for this list.
+	 * @return the index, or null if none is kept.
+	 */
+	public FrequencyIndex getFrequencyIndex() {
+		return frequencyIndex;
+	}
+
 	/**
 	 * Inserts a word into the sorted list using
 	 * binary search.
@@ -45,10 +71,12 @@ class WordList extends ArrayList<WordHistogram> {
 				max = mid - 1;
 			else {
 				get(mid).incrementOccurences(word.getOccurrences());
+				index(word);
 				return mid;
 			}
 		}
 		add(min, word);
+		index(word);
 		return min;
 	}
 
@@ -68,12 +96,19 @@ class WordList extends ArrayList<WordHistogram> {
 			if (comparison == 0)
 				get(i).incrementOccurences(word.getOccurrences());
 			else add(i, word);
+			index(word);
 			return i;
 		}
 		add(word);
+		index(word);
 		return i;
 	}
 
+	private void index(WordHistogram word) {
+		if (frequencyIndex != null)
+			frequencyIndex.add(word.getWord(), word.getOccurrences());
+	}
+
 	/**
 	 * Adds a word to the histogram searching from a given startIndex.
 	 * @param  word       a {@link WordHistogram} word element to insert.
@@ -98,10 +133,17 @@ class WordList extends ArrayList<WordHistogram> {
 	 * @param words the array of words to add
 	 */
 	public void addWords(String[] words) {
+		WordCountEvent event = new WordCountEvent();
+		event.begin();
 		Arrays.sort(words);
 		int startIndex = 0;
 		for (int i = 0; i < words.length; i++)
 			startIndex = addWord(new WordHistogram(words[i]), startIndex);
+		if (event.shouldCommit()) {
+			event.words = words.length;
+			event.listSize = size();
+			event.commit();
+		}
 	}
 
 	/**
@@ -0,0 +1,210 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * WordListMerger
+ * Merges result files (a word count followed by word and
+ * occurrence lines, once per section, each section sorted
+ * alphabetically) with a streaming k-way merge. Only one entry
+ * per input file and the requested top words are held in memory,
+ * and at most {@link #MAX_FAN_IN} files are open at once: more files
+ * are first merged in groups into intermediate files, pass after
+ * pass, so any number of spilled run files can be combined on a
+ * fixed heap and a fixed number of file descriptors.
+ *
+ * @since October 2026
+ */
+class WordListMerger {
+
+	public static final int MAX_FAN_IN = 64;
+
+	private WordListMerger() {}
+
+	/**
+	 * Merges the result files at inputPaths into a single result
+	 * file at outputPath.
+	 * @param  inputPaths  The paths of the sorted result files to merge,
+	 *                     missing files are skipped.
+	 * @param  outputPath  The path to write the merged result file to.
+	 * @param  numSections The number of sections in each file.
+	 * @param  numTopWords The number of most common words to keep per section.
+	 * @return             A {@link WordList} per section holding its
+	 *                     numTopWords most common words.
+	 * @throws IOException if reading or writing fails.
+	 */
+	public static WordList[] merge(List<String> inputPaths, String outputPath, int numSections, int numTopWords) throws IOException {
+		List<String> paths = inputPaths;
+		ArrayList<String> passPaths = new ArrayList<String>();
+		try {
+			for (int pass = 0; paths.size() > MAX_FAN_IN; pass++) {
+				ArrayList<String> nextPaths = new ArrayList<String>();
+				for (int i = 0; i < paths.size(); i += MAX_FAN_IN) {
+					String passPath = String.format("%s.pass-%d-%d", outputPath, pass, nextPaths.size());
+					passPaths.add(passPath);
+					mergeFiles(paths.subList(i, Math.min(paths.size(), i + MAX_FAN_IN)), passPath, numSections, 0);
+					nextPaths.add(passPath);
+				}
+				if (paths != inputPaths)
+					for (String path : paths)
+						OpenFile.deleteFile(path);
+				paths = nextPaths;
+			}
+			return mergeFiles(paths, outputPath, numSections, numTopWords);
+		}	finally {
+			for (String passPath : passPaths)
+				OpenFile.deleteFile(passPath);
+		}
+	}
+
+	/**
+	 * Merges at most {@link #MAX_FAN_IN} result files in a single pass.
+	 */
+	private static WordList[] mergeFiles(List<String> inputPaths, String outputPath, int numSections, int numTopWords) throws IOException {
+		ArrayList<BufferedReader> readers = new ArrayList<BufferedReader>();
+		ArrayList<String> readerPaths = new ArrayList<String>();
+		for (String inputPath : inputPaths) {
+			BufferedReader reader = OpenFile.openFileToReader(inputPath);
+			if (reader != null) {
+				readers.add(reader);
+				readerPaths.add(inputPath);
+			}
+		}
+		String sectionPath = outputPath + ".section";
+		WordList[] topWords = new WordList[numSections];
+		BufferedWriter writer = OpenFile.openFileToWriter(outputPath);
+		try {
+			for (int section = 0; section < numSections; section++) {
+				BufferedWriter sectionWriter = OpenFile.openFileToWriter(sectionPath);
+				int numWords;
+				try {
+					topWords[section] = new WordList(numTopWords);
+					numWords = mergeSection(readers, readerPaths, sectionWriter, topWords[section], numTopWords);
+				}	finally {
+					sectionWriter.close();
+				}
+				writer.write(numWords + "\n");
+				BufferedReader sectionReader = OpenFile.openFileToReader(sectionPath);
+				try {
+					for (String line = sectionReader.readLine(); line != null; line = sectionReader.readLine())
+						writer.write(line + "\n");
+				}	finally {
+					sectionReader.close();
+				}
+			}
+		}	finally {
+			writer.close();
+			for (BufferedReader reader : readers)
+				reader.close();
+			OpenFile.deleteFile(sectionPath);
+		}
+		return topWords;
+	}
+
+	/**
+	 * Merges the current section of every reader.
+	 * @param  readers     Readers positioned at the start of a section.
+	 * @param  paths       The paths of the files the readers read.
+	 * @param  writer      Where to write the merged word and occurrence lines.
+	 * @param  topWords    A {@link WordList} to collect the most common words into.
+	 * @param  numTopWords The number of most common words to collect.
+	 * @return             The number of distinct words written.
+	 * @throws IOException if reading or writing fails, or a file is
+	 *                     misformatted.
+	 */
+	private static int mergeSection(List<BufferedReader> readers, List<String> paths, BufferedWriter writer, WordList topWords, int numTopWords) throws IOException {
+		PriorityQueue<Cursor> queue = new PriorityQueue<Cursor>(Math.max(1, readers.size()), new Comparator<Cursor>() {
+			@Override
+			public int compare(Cursor cursor1, Cursor cursor2) {
+				return cursor1.word.compareTo(cursor2.word);
+			}
+		});
+		for (int i = 0; i < readers.size(); i++) {
+			Cursor cursor = new Cursor(readers.get(i), paths.get(i));
+			if (cursor.advance())
+				queue.add(cursor);
+		}
+		PriorityQueue<WordHistogram> top = new PriorityQueue<WordHistogram>(numTopWords + 1, new Comparator<WordHistogram>() {
+			@Override
+			public int compare(WordHistogram word1, WordHistogram word2) {
+				return Integer.compare(word1.getOccurrences(), word2.getOccurrences());
+			}
+		});
+		int numWords = 0;
+		while (!queue.isEmpty()) {
+			Cursor cursor = queue.poll();
+			String word = cursor.word;
+			int occurrences = cursor.occurrences;
+			if (cursor.advance())
+				queue.add(cursor);
+			while (!queue.isEmpty() && queue.peek().word.equals(word)) {
+				cursor = queue.poll();
+				occurrences += cursor.occurrences;
+				if (cursor.advance())
+					queue.add(cursor);
+			}
+			writer.write(word + "\n" + occurrences + "\n");
+			numWords++;
+			if (numTopWords > 0 && (top.size() < numTopWords || top.peek().getOccurrences() < occurrences)) {
+				top.add(new WordHistogram(word, occurrences));
+				if (top.size() > numTopWords)
+					top.poll();
+			}
+		}
+		for (WordHistogram word : top)
+			topWords.addWord(word);
+		return numWords;
+	}
+
+	/**
+	 * The position of the merge in the current section of one file.
+	 */
+	private static class Cursor {
+
+		private BufferedReader reader;
+		private String path;
+		private int    remaining;
+		private String word;
+		private int    occurrences;
+
+		Cursor(BufferedReader reader, String path) throws IOException {
+			this.reader = reader;
+			this.path = path;
+			String count = reader.readLine();
+			remaining = count == null ? 0 : parseCount(count);
+		}
+
+		/**
+		 * Moves to the next entry of the section.
+		 * @return false once the section is exhausted, true otherwise.
+		 */
+		boolean advance() throws IOException {
+			if (remaining == 0)
+				return false;
+			remaining--;
+			word = reader.readLine();
+			String count = reader.readLine();
+			if (word == null || count == null) {
+				remaining = 0;
+				return false;
+			}
+			occurrences = parseCount(count);
+			return true;
+		}
+
+		/**
+		 * Parses a count line, naming the file if it is misformatted.
+		 */
+		private int parseCount(String count) throws IOException {
+			try {
+				return Integer.parseInt(count);
+			}	catch (NumberFormatException e) {
+				throw new IOException("Misformatted count \"" + count + "\" in " + path, e);
+			}
+		}
+	}
+}